@@ -60,6 +60,141 @@ public interface IProvideDefault {
         return Optional.ofNullable(defaultValue);
     }
     
+    /**
+     * Check if the default for the given class can be provided.
+     * 
+     * This allows probing without paying for an exception when the default cannot be provided.
+     * The implementation here can only find out by getting the default.
+     * 
+     * @param theGivenClass
+     *          the given class.
+     * @return  {@code false} if getting the default is known to fail.
+     */
+    public default boolean canProvide(Class<?> theGivenClass) {
+        try {
+            get(theGivenClass);
+            return true;
+        } catch (ProvideDefaultException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Returns the default for the given class as Optional -- empty if the default cannot be provided (or is null).
+     * 
+     * @param <TYPE>  the data type represented by the given class.
+     * @param theGivenClass
+     *          the given class.
+     * @return  the default associated with the given class.
+     */
+    public default <TYPE> Optional<TYPE> tryGet(Class<TYPE> theGivenClass) {
+        try {
+            return optional(theGivenClass);
+        } catch (ProvideDefaultException e) {
+            return Optional.empty();
+        }
+    }
+    
+    // == Primitive defaults ==
+    
+    /**
+     * Returns the default int.
+     * 
+     * The implementation here goes through {@link #get(Class)} so the value is boxed;
+     *   implementations can override this to return the value without boxing.
+     * 
+     * @return  the default int -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     */
+    public default int getInt() throws ProvideDefaultException {
+        val value = get(int.class);
+        return (value != null) ? value.intValue() : 0;
+    }
+    
+    /**
+     * Returns the default long.
+     * 
+     * @return  the default long -- {@code 0L} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default long getLong() throws ProvideDefaultException {
+        val value = get(long.class);
+        return (value != null) ? value.longValue() : 0L;
+    }
+    
+    /**
+     * Returns the default double.
+     * 
+     * @return  the default double -- {@code 0.0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default double getDouble() throws ProvideDefaultException {
+        val value = get(double.class);
+        return (value != null) ? value.doubleValue() : 0.0;
+    }
+    
+    /**
+     * Returns the default boolean.
+     * 
+     * @return  the default boolean -- {@code false} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default boolean getBoolean() throws ProvideDefaultException {
+        val value = get(boolean.class);
+        return (value != null) ? value.booleanValue() : false;
+    }
+    
+    /**
+     * Returns the default byte.
+     * 
+     * @return  the default byte -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default byte getByte() throws ProvideDefaultException {
+        val value = get(byte.class);
+        return (value != null) ? value.byteValue() : 0;
+    }
+    
+    /**
+     * Returns the default short.
+     * 
+     * @return  the default short -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default short getShort() throws ProvideDefaultException {
+        val value = get(short.class);
+        return (value != null) ? value.shortValue() : 0;
+    }
+    
+    /**
+     * Returns the default char.
+     * 
+     * @return  the default char -- {@code '\0'} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default char getChar() throws ProvideDefaultException {
+        val value = get(char.class);
+        return (value != null) ? value.charValue() : '\0';
+    }
+    
+    /**
+     * Returns the default float.
+     * 
+     * @return  the default float -- {@code 0.0f} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    public default float getFloat() throws ProvideDefaultException {
+        val value = get(float.class);
+        return (value != null) ? value.floatValue() : 0.0f;
+    }
+    
     // == Factory method ==
     
     /** The property that contains the class name of the class of the implementation. */
@@ -32,6 +32,12 @@ public class ProvideDefaultException extends RuntimeException {
     
     private final Class<?> clazz;
     
+    private final boolean isStackless;
+    
+    private final boolean isMessageDeferred;
+    
+    private transient volatile String deferredMessage;
+    
     /**
      * Constructor the exception with the class that was trying to provide.
      * 
@@ -52,7 +58,28 @@ public class ProvideDefaultException extends RuntimeException {
      **/
     public ProvideDefaultException(Class<?> clazz, Throwable cause) {
         super(clazz.getCanonicalName(), cause);
-        this.clazz = clazz;
+        this.clazz             = clazz;
+        this.isStackless       = false;
+        this.isMessageDeferred = false;
+    }
+    
+    /**
+     * Constructor the exception that can be stackless and whose message is only formatted when asked for.
+     * 
+     * Stackless exceptions are cheap enough to be thrown and caught in bulk (or to be preallocated and shared)
+     *   but they show nothing of where they are thrown.
+     * As they may be shared, suppression is disabled for them.
+     * The message is from {@link #formatMessage()}.
+     * 
+     * @param clazz        the class that this fail provision is attempted too.
+     * @param cause        the cause of the problem.
+     * @param isStackless  {@code true} if the stack trace should not be filled in.
+     **/
+    protected ProvideDefaultException(Class<?> clazz, Throwable cause, boolean isStackless) {
+        super(null, cause, !isStackless, !isStackless);
+        this.clazz             = clazz;
+        this.isStackless       = isStackless;
+        this.isMessageDeferred = true;
     }
     /**
      * Constructor 
@@ -63,7 +90,51 @@ public class ProvideDefaultException extends RuntimeException {
      **/
     protected ProvideDefaultException(String msg, Class<?> clazz, Throwable cause) {
         super(msg, cause);
-        this.clazz = clazz;
+        this.clazz             = clazz;
+        this.isStackless       = false;
+        this.isMessageDeferred = false;
+    }
+    
+    /**
+     * Create a stackless exception with the class that was trying to provide and the cause of the problem.
+     * 
+     * @param clazz  the class that this fail provision is attempted too.
+     * @param cause  the cause of the problem.
+     * @return  the exception.
+     */
+    public static ProvideDefaultException stackless(Class<?> clazz, Throwable cause) {
+        return new ProvideDefaultException(clazz, cause, true);
+    }
+    
+    /**
+     * Returns the message of the exception whose message is deferred.
+     * 
+     * @return  the message.
+     */
+    protected String formatMessage() {
+        return clazz.getCanonicalName();
+    }
+    
+    @Override
+    public String getMessage() {
+        if (!isMessageDeferred)
+            return super.getMessage();
+        
+        String message = deferredMessage;
+        if (message == null) {
+            message = formatMessage();
+            deferredMessage = message;
+        }
+        return message;
+    }
+    
+    /**
+     * Check if this exception has no stack trace.
+     * 
+     * @return  {@code true} if the stack trace was not filled in.
+     */
+    public boolean isStackless() {
+        return isStackless;
     }
     
     /**
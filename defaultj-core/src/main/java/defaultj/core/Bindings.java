@@ -21,9 +21,11 @@
 //  SOFTWARE.
 package defaultj.core;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import defaultj.core.bindings.InstanceBinding;
@@ -40,8 +42,17 @@ public class Bindings {
     @SuppressWarnings("rawtypes")
     private final Map<Class, IBind> bindings;
     
+    @SuppressWarnings("rawtypes")
+    private final Map<TypeKey, IBind> typeBindings;
+    
     public Bindings(@SuppressWarnings("rawtypes") Map<Class, IBind> bindings) {
-        this.bindings = unmodifiableMap(new HashMap<>(bindings));
+        this(bindings, emptyMap());
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private Bindings(Map<Class, IBind> bindings, Map<TypeKey, IBind> typeBindings) {
+        this.bindings     = unmodifiableMap(new HashMap<>(bindings));
+        this.typeBindings = typeBindings.isEmpty() ? emptyMap() : unmodifiableMap(new HashMap<>(typeBindings));
     }
     
     /**
@@ -56,6 +67,45 @@ public class Bindings {
         return (IBind<TYPE>)this.bindings.get(clzz);
     }
     
+    /**
+     * Returns the bindings for the given type key -- such as a parameterized or a qualified type.
+     * 
+     * @param typeKey  the type key.
+     * @return  the binding for the type.
+     */
+    @SuppressWarnings("rawtypes")
+    public IBind getBinding(TypeKey typeKey) {
+        return typeKey.isPlainClass()
+                ? this.bindings.get(typeKey.rawClass())
+                : this.typeBindings.get(typeKey);
+    }
+    
+    /**
+     * Add the classes the default of the type key is obtained from -- following the bindings the key goes through
+     *   (the key, the unqualified key then the raw class).
+     * 
+     * @param typeKey  the type key.
+     * @param targets  the list the classes are added to.
+     * @return  {@code false} if the type key is bound to a binding whose dependencies cannot be known.
+     */
+    @SuppressWarnings("rawtypes")
+    boolean addTargetsOf(TypeKey typeKey, List<Class> targets) {
+        if (typeKey.isPlainClass())
+            return targets.add(typeKey.rawClass());
+        
+        val binding = getBinding(typeKey);
+        if (binding == null) {
+            val nextKey = typeKey.isQualified() ? typeKey.unqualified() : TypeKey.of(typeKey.rawClass());
+            return addTargetsOf(nextKey, targets);
+        }
+        if (binding instanceof InstanceBinding)
+            return true;
+        if (binding instanceof TypeBinding)
+            return targets.add(((TypeBinding)binding).referedType());
+        
+        return false;
+    }
+    
     /**
      * Creates a binder for the given type.
      */
@@ -64,6 +114,9 @@ public class Bindings {
         @SuppressWarnings("rawtypes")
         private final Map<Class, IBind> bindings = new HashMap<>();
         
+        @SuppressWarnings("rawtypes")
+        private final Map<TypeKey, IBind> typeBindings = new HashMap<>();
+        
         /**
          * Constructor with no predefine binders.
          */
@@ -77,8 +130,7 @@ public class Bindings {
          * @param bindings  the predefine bindings.
          */
         public Builder(Bindings bindings) {
-            if (bindings != null)
-                this.bindings.putAll(bindings.bindings);
+            bind(bindings);
         }
         
         /**
@@ -127,6 +179,48 @@ public class Bindings {
             return this;
         }
         
+        /**
+         * Bind the binding to the class qualified by the given name.
+         * This means that if there is a request for the data class with the name
+         *   -- such as a parameter annotated with {@code @Named(name)},
+         *   the binding will be used.
+         * 
+         * @param <TYPE>   the data type.
+         * @param clzz     the data class.
+         * @param name     the qualifier name.
+         * @param binding  the bind to be match with this class and name.
+         * @return this binding builder.
+         */
+        public <TYPE> Builder bind(Class<TYPE> clzz, String name, IBind<? extends TYPE> binding) {
+            return bind(TypeKey.of(clzz).named(name), binding);
+        }
+        
+        /**
+         * Bind the instance to the class qualified by the given name.
+         * 
+         * @param <TYPE>    the data type.
+         * @param clzz      the data class.
+         * @param name      the qualifier name.
+         * @param instance  the instance to bind to.
+         * @return this binding builder.
+         */
+        public <TYPE> Builder bind(Class<TYPE> clzz, String name, TYPE instance) {
+            return bind(TypeKey.of(clzz).named(name), new InstanceBinding<>(instance));
+        }
+        
+        /**
+         * Bind the class qualified by the given name to another class.
+         * 
+         * @param <TYPE>     the data type.
+         * @param clzz       the data class.
+         * @param name       the qualifier name.
+         * @param boundClzz  the class to bind to.
+         * @return this binding builder.
+         */
+        public <TYPE> Builder bind(Class<TYPE> clzz, String name, Class<? extends TYPE> boundClzz) {
+            return bind(TypeKey.of(clzz).named(name), new TypeBinding<>(boundClzz));
+        }
+        
         /**
          * Include all the bindings.
          * 
@@ -134,18 +228,53 @@ public class Bindings {
          * @return this binding builder.
          */
         public Builder bind(Bindings bindings) {
-            if (bindings != null)
-                this.bindings.putAll(bindings.bindings);
+            if (bindings != null) {
+                this.bindings    .putAll(bindings.bindings);
+                this.typeBindings.putAll(bindings.typeBindings);
+            }
             return this;
         }
         
+        /**
+         * Bind the binding to the type -- such as a parameterized or a qualified type.
+         * 
+         * @param typeKey  the type key.
+         * @param binding  the bind to be match with this type.
+         * @return this binding builder.
+         */
+        public Builder bind(TypeKey typeKey, IBind<?> binding) {
+            if (binding == null)
+                return this;
+            
+            if (typeKey.isPlainClass())
+                this.bindings.put(typeKey.rawClass(), binding);
+            else
+                this.typeBindings.put(typeKey, binding);
+            return this;
+        }
+        
+        /**
+         * Bind the instance to the type -- such as a parameterized or a qualified type.
+         * 
+         * @param typeKey   the type key.
+         * @param instance  the instance to bind to.
+         * @return this binding builder.
+         * @throws ClassCastException  if the instance is not an instance of the raw class of the type.
+         */
+        public Builder bind(TypeKey typeKey, Object instance) {
+            val rawClass = typeKey.rawClass();
+            if ((instance != null) && !rawClass.isPrimitive())
+                rawClass.cast(instance);
+            return bind(typeKey, new InstanceBinding<>(instance));
+        }
+        
         /**
          * Build the binding as specified.
          * 
          * @return the newly created binding.
          */
         public Bindings build() {
-            return new Bindings(bindings);
+            return new Bindings(bindings, typeBindings);
         }
         
     }
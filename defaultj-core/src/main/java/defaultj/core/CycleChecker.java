@@ -0,0 +1,172 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import defaultj.core.suppliers.Dependency;
+import lombok.val;
+
+/**
+ * Walks the dependency graph of a supplier plan once to find cycles.
+ * 
+ * A class whose required dependencies lead back to itself can never be created so
+ *   {@link CyclicDependencyDetectedException} is thrown with the whole cycle.
+ * Other cycles (through optional or deferred dependencies) are legitimate but the classes on them,
+ *   and the classes depending on those, have to be tracked while their defaults are created.
+ * Classes whose dependencies cannot be known (custom finders, factory bindings, ...) are tracked too.
+ * Everything else is verified and needs no tracking.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class CycleChecker {
+    
+    private final IProvideDefault                provider;
+    private final Function<Class, SupplierPlan> planSource;
+    private final boolean                       isStackless;
+    
+    private final Map<Class, SupplierPlan> plans   = new HashMap<Class, SupplierPlan>();
+    private final Map<Class, Integer>      results = new HashMap<Class, Integer>();
+    private final List<Class>              path    = new ArrayList<Class>();
+    
+    private int softEdgeCount = 0;
+    
+    private CycleChecker(IProvideDefault provider, Function<Class, SupplierPlan> planSource, boolean isStackless) {
+        this.provider    = provider;
+        this.planSource  = planSource;
+        this.isStackless = isStackless;
+    }
+    
+    /**
+     * Check the plan of the given class and all the unchecked plans it depends on.
+     * 
+     * @param provider  the provider the plan is for.
+     * @param root      the class.
+     * @param plan      the plan of the class.
+     * @throws CyclicDependencyDetectedException  if the class requires itself.
+     */
+    static void check(DefaultProvider provider, Class root, SupplierPlan plan) {
+        check(provider, provider::planFor, root, plan, provider.isStackless());
+    }
+    
+    /**
+     * Check the plan of the given class and all the unchecked plans it depends on.
+     * 
+     * @param provider     the provider the plans are for.
+     * @param planSource   the source of the plans of the dependencies.
+     * @param root         the class.
+     * @param plan         the plan of the class.
+     * @param isStackless  {@code true} if the cycle is reported without stack trace.
+     * @throws CyclicDependencyDetectedException  if the class requires itself.
+     */
+    static void check(IProvideDefault provider, Function<Class, SupplierPlan> planSource, Class root, SupplierPlan plan, boolean isStackless) {
+        if (!plan.isUnchecked())
+            return;
+        
+        val checker = new CycleChecker(provider, planSource, isStackless);
+        checker.plans.put(root, plan);
+        checker.visit(root);
+        checker.commit();
+    }
+    
+    private int visit(Class type) {
+        val result = results.get(type);
+        if (result != null)
+            return result;
+        
+        val plan = planOf(type);
+        if ((plan == null)
+         || !plan.isUnchecked()
+         || !plan.isTransparentTo(provider)
+         || IProvideDefault.class.isAssignableFrom(type)) {
+            val state = ((plan != null) && plan.isVerified()) ? SupplierPlan.VERIFIED : SupplierPlan.TRACKED;
+            results.put(type, state);
+            return state;
+        }
+        
+        path.add(type);
+        boolean isVerified = true;
+        for (val dependency : plan.dependencies()) {
+            val isSoft         = (dependency.kind() != Dependency.Kind.REQUIRED);
+            val dependencyType = dependency.type();
+            val index          = path.indexOf(dependencyType);
+            if (index != -1) {
+                if (!isSoft && (softEdgeCount == 0))
+                    throw cyclicException(index, dependencyType);
+                
+                isVerified = false;
+                continue;
+            }
+            
+            softEdgeCount += isSoft ? 1 : 0;
+            val dependencyState = visit(dependencyType);
+            softEdgeCount -= isSoft ? 1 : 0;
+            
+            isVerified &= (dependencyState == SupplierPlan.VERIFIED);
+        }
+        path.remove(path.size() - 1);
+        
+        val state = isVerified ? SupplierPlan.VERIFIED : SupplierPlan.TRACKED;
+        results.put(type, state);
+        return state;
+    }
+    
+    private SupplierPlan planOf(Class type) {
+        if (plans.containsKey(type))
+            return plans.get(type);
+        
+        SupplierPlan plan;
+        try {
+            plan = planSource.apply(type);
+        } catch (RuntimeException | LinkageError e) {
+            // Leave the failure for when the default is actually asked for.
+            plan = null;
+        }
+        plans.put(type, plan);
+        return plan;
+    }
+    
+    private CyclicDependencyDetectedException cyclicException(int index, Class type) {
+        val cyclePath = new ArrayList<Class<?>>();
+        for (val clzz : path.subList(index, path.size())) {
+            cyclePath.add(clzz);
+        }
+        cyclePath.add(type);
+        return new CyclicDependencyDetectedException(type, cyclePath, isStackless);
+    }
+    
+    private void commit() {
+        for (val entry : results.entrySet()) {
+            val plan = plans.get(entry.getKey());
+            if ((plan != null) && plan.isUnchecked())
+                plan.state(entry.getValue());
+        }
+    }
+    
+}
@@ -0,0 +1,121 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import defaultj.api.ProvideDefaultException;
+import lombok.val;
+
+/**
+ * The defaults of many classes resolved together by {@link DefaultProvider#getAll(Class...)}.
+ * 
+ * Each class either has its default or the failure that prevented it --
+ *   a failure of one class does not stop the others.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class DefaultBatch {
+    
+    private final Class<?>[]                               classes;
+    private final Object[]                                 values;
+    private final Map<Class<?>, ProvideDefaultException> failures;
+    private final Map<Class<?>, Integer>                   indexes;
+    
+    DefaultBatch(Class<?>[] classes, Object[] values, Map<Class<?>, ProvideDefaultException> failures) {
+        this.classes  = classes;
+        this.values   = values;
+        this.failures = unmodifiableMap(failures);
+        this.indexes  = new HashMap<Class<?>, Integer>(classes.length * 2);
+        for (int i = 0; i < classes.length; i++) {
+            indexes.put(classes[i], i);
+        }
+    }
+    
+    /** @return  the number of classes in this batch. */
+    public int size() {
+        return classes.length;
+    }
+    
+    /** @return  the classes in this batch in the order they were asked for (without duplicates). */
+    public Class<?>[] classes() {
+        return classes.clone();
+    }
+    
+    /** @return  the defaults in the order of the classes -- {@code null} for the classes that failed. */
+    public Object[] values() {
+        return values.clone();
+    }
+    
+    /**
+     * Returns the default of the given class.
+     * 
+     * @param <TYPE>         the data type represented by the given class.
+     * @param theGivenClass  the class.
+     * @return  the default.
+     * @throws ProvideDefaultException   if the default of the class could not be provided.
+     * @throws IllegalArgumentException  if the class is not in this batch.
+     */
+    @SuppressWarnings("unchecked")
+    public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+        val index = indexes.get(theGivenClass);
+        if (index == null)
+            throw new IllegalArgumentException("Not in the batch: " + theGivenClass);
+        
+        val failure = failures.get(theGivenClass);
+        if (failure != null)
+            throw failure;
+        
+        return (TYPE)values[index];
+    }
+    
+    /** @return  the defaults of the classes that did not fail by their classes -- in the order they were asked for. */
+    public Map<Class<?>, Object> asMap() {
+        val map = new LinkedHashMap<Class<?>, Object>();
+        for (int i = 0; i < classes.length; i++) {
+            if (!failures.containsKey(classes[i]))
+                map.put(classes[i], values[i]);
+        }
+        return map;
+    }
+    
+    /** @return  the failures by the classes that failed. */
+    public Map<Class<?>, ProvideDefaultException> failures() {
+        return failures;
+    }
+    
+    /** @return {@code true} if the defaults of all the classes were provided. */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+    
+    @Override
+    public String toString() {
+        return "DefaultBatch[" + Arrays.toString(classes) + (failures.isEmpty() ? "" : ", failures=" + failures.keySet()) + "]";
+    }
+    
+}
@@ -0,0 +1,80 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.utils.failable.Failable.Supplier;
+
+/**
+ * A pre-resolved handle to get the default of a class.
+ * 
+ * The handle is bound to the supplier of the class when it is created
+ *   so each call to {@link #get()} only runs the instantiation work.
+ * 
+ * @param <TYPE>  the data type.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class DefaultHandle<TYPE> implements java.util.function.Supplier<TYPE> {
+    
+    private final Class<TYPE>                         theGivenClass;
+    private final Supplier<TYPE, ? extends Throwable> supplier;
+    private final boolean                             isPrimitive;
+    private final boolean                             isStackless;
+    
+    DefaultHandle(Class<TYPE> theGivenClass, Supplier<TYPE, ? extends Throwable> supplier, boolean isStackless) {
+        this.theGivenClass = theGivenClass;
+        this.supplier      = supplier;
+        this.isPrimitive   = theGivenClass.isPrimitive();
+        this.isStackless   = isStackless;
+    }
+    
+    /** @return  the class this handle provides the default of. */
+    public Class<TYPE> type() {
+        return theGivenClass;
+    }
+    
+    /**
+     * Returns the default of the class.
+     * 
+     * @return the default.
+     * @throws ProvideDefaultException when there is a problem providing the default.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public TYPE get() throws ProvideDefaultException {
+        try {
+            Object instance = supplier.get();
+            return isPrimitive ? (TYPE)instance : theGivenClass.cast(instance);
+        } catch (ProvideDefaultException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw DefaultProvider.failure(theGivenClass, e, isStackless);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "DefaultHandle[" + theGivenClass.getName() + "]";
+    }
+    
+}
@@ -21,8 +21,14 @@
 //  SOFTWARE.
 package defaultj.core;
 
+import static defaultj.core.suppliers.Dependency.required;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.synchronizedSet;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -30,22 +36,41 @@ import static nullablej.NullableJ._isNotNull;
 import static nullablej.NullableJ._isNull;
 import static nullablej.NullableJ._or;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 import defaultj.api.IProvideDefault;
 import defaultj.api.ProvideDefaultException;
 import defaultj.core.exception.AbstractClassCreationException;
 import defaultj.core.exception.CyclicDependencyDetectedException;
+import defaultj.core.bindings.InstanceBinding;
+import defaultj.core.bindings.TypeBinding;
 import defaultj.core.strategies.ConstructorSupplierFinder;
 import defaultj.core.strategies.DefaultImplementationSupplierFinder;
 import defaultj.core.strategies.DefaultInterfaceSupplierFinder;
@@ -55,6 +80,13 @@ import defaultj.core.strategies.IFindSupplier;
 import defaultj.core.strategies.ImplementedBySupplierFinder;
 import defaultj.core.strategies.NullSupplierFinder;
 import defaultj.core.strategies.SingletonFieldFinder;
+import defaultj.core.suppliers.ConstantSupplier;
+import defaultj.core.suppliers.Dependency;
+import defaultj.core.suppliers.DependentSupplier;
+import defaultj.core.utils.failable.Failable.BooleanSupplier;
+import defaultj.core.utils.failable.Failable.DoubleSupplier;
+import defaultj.core.utils.failable.Failable.IntSupplier;
+import defaultj.core.utils.failable.Failable.LongSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 import nullablej.nullable.Nullable;
@@ -66,10 +98,7 @@ import nullablej.nullvalue.strategies.KnownNullValuesFinder;
  * 
  * @author NawaMan -- nawa@nawaman.net
  */
-public class DefaultProvider implements IProvideDefault, IFindSupplier {
-    
-    @SuppressWarnings("rawtypes")
-    private static final Supplier NoSupplier = ()->null;
+public class DefaultProvider implements IProvideKeyedDefault, IFindSupplier {
     
     
     private static final List<IFindSupplier> beforeAdditionalFinders = Arrays.asList(
@@ -88,25 +117,66 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
     private static final KnownNullValuesFinder    knownNullValuesFinder = new KnownNullValuesFinder();
     private static final KnownNewNullValuesFinder knownNewNullValuesFinder = new KnownNewNullValuesFinder();
     
-    @SuppressWarnings("rawtypes")
-    private static final ThreadLocal<Set<Class>> beingCreateds
-            = ThreadLocal.withInitial(()->new HashSet<>());
-    
     private static final List<IFindSupplier> noAdditionalSuppliers = emptyList();
     
     private static final Bindings noBinding = new Bindings.Builder().build();
     
+    /** The resolution (of any provider) each thread is waiting for -- only while it is waiting. */
+    private static final Map<Thread, Resolution> waitings = new ConcurrentHashMap<Thread, Resolution>();
+    
     private IProvideDefault       parent;
     private List<IFindSupplier>   finders;
     private IHandleProvideFailure provideFailureHandler;
     
-    private Bindings binidings;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultProvider, Bindings> bindingsUpdater
+            = AtomicReferenceFieldUpdater.newUpdater(DefaultProvider.class, Bindings.class, "binidings");
+    
+    private volatile Bindings binidings;
+    
+    private final AtomicLong bindingsVersion = new AtomicLong();
+    
+    private final SupplierCache suppliers = new SupplierCache();
     
     @SuppressWarnings("rawtypes")
-    private Map<Class, Supplier> suppliers = new ConcurrentHashMap<Class, Supplier>();
+    private final Map<Class, Resolution> resolutions = new ConcurrentHashMap<Class, Resolution>();
+    
+    /** The maximum number of the scope shapes whose providers are kept. */
+    static final int maxScopeShapes = 64;
+    
+    private final Map<List<Class<?>>, DefaultProvider> scopeProviders = new ConcurrentHashMap<List<Class<?>>, DefaultProvider>();
+    
+    /** The scope shapes binding a class that can be unloaded -- kept with the first such class. */
+    private final ClassValue<ScopeShapes> unloadableScopeShapes = new ClassValue<ScopeShapes>() {
+        @Override
+        protected ScopeShapes computeValue(Class<?> type) {
+            return new ScopeShapes();
+        }
+    };
+    
+    private volatile Queue<Class<?>> recordeds = null;
+    
+    private volatile PlanSnapshot snapshot = null;
+    
+    private final LongAdder resolutionCount          = new LongAdder();
+    private final LongAdder contendedResolutionCount = new LongAdder();
+    private final LongAdder snapshotHitCount         = new LongAdder();
     
     private List<IFindSupplier> additionalSupplierFinders;
     
+    private final boolean isFastFail;
+    private final boolean isFullStackTrace;
+    private final boolean isStackless;
+    
+    private final DefaultProvider origin;
+    private final boolean         isFinderChanged;
+    private final boolean         isHandlerChanged;
+    
+    private final Set<DefaultProvider> deriveds = synchronizedSet(newSetFromMap(new WeakHashMap<DefaultProvider, Boolean>()));
+    
+    /** The system property for the providers to always fill in the stack traces of their exceptions -- even in the fast-fail mode. */
+    public static final String FULL_STACK_TRACE_PROPERTY = "defaultj.fullStackTrace";
+    
     /** Ready to use instance with default settings */
     public static final DefaultProvider instance = new DefaultProvider();
     
@@ -129,13 +199,52 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
             List<IFindSupplier>   additionalSupplierFinders,
             Bindings              bingings,
             IHandleProvideFailure provideFailureHandler) {
+        this(null, parent, additionalSupplierFinders, bingings, provideFailureHandler);
+    }
+    
+    /**
+     * Constructs the DefaultProvider derived from another provider.
+     * 
+     * The plans of the origin are inherited when they are not affected by the difference in configuration.
+     **/
+    private DefaultProvider(
+            DefaultProvider       origin,
+            IProvideDefault       parent,
+            List<IFindSupplier>   additionalSupplierFinders,
+            Bindings              bingings,
+            IHandleProvideFailure provideFailureHandler) {
+        this(origin, parent, additionalSupplierFinders, bingings, provideFailureHandler,
+             (origin != null) && origin.isFastFail,
+             (origin != null) ? origin.isFullStackTrace : Boolean.getBoolean(FULL_STACK_TRACE_PROPERTY));
+    }
+    
+    private DefaultProvider(
+            DefaultProvider       origin,
+            IProvideDefault       parent,
+            List<IFindSupplier>   additionalSupplierFinders,
+            Bindings              bingings,
+            IHandleProvideFailure provideFailureHandler,
+            boolean               isFastFail,
+            boolean               isFullStackTrace) {
         this.parent                = parent;
         this.finders               = combineFinders(additionalSupplierFinders);
         this.provideFailureHandler = provideFailureHandler;
         this.binidings             = _or(bingings, noBinding);
+        this.isFastFail            = isFastFail;
+        this.isFullStackTrace      = isFullStackTrace;
+        this.isStackless           = isFastFail && !isFullStackTrace;
         
         // Supportive
         this.additionalSupplierFinders = additionalSupplierFinders;
+        
+        // Inheritance
+        val canInherit        = (origin != null) && (origin.parent == parent);
+        this.origin           = canInherit ? origin : null;
+        this.isFinderChanged  = canInherit && !origin.finders.equals(this.finders);
+        this.isHandlerChanged = canInherit && ((origin.provideFailureHandler != provideFailureHandler)
+                                            || (origin.isStackless != this.isStackless));
+        if (canInherit)
+            origin.deriveds.add(this);
     }
     
     /**
@@ -199,7 +308,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      * @return  a new default provider with all configuration of this provider except for the additional supplier finders.
      */
     public DefaultProvider withAdditionalSupplier(List<IFindSupplier> additionalSupplierFinders) {
-        return new DefaultProvider(parent, additionalSupplierFinders, binidings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, binidings, provideFailureHandler);
     }
     
     /**
@@ -210,7 +319,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      */
     public DefaultProvider withAdditionalSupplier(Stream<IFindSupplier> additionalSupplierFinders) {
         val finders = additionalSupplierFinders.collect(toList());
-        return new DefaultProvider(parent, finders, binidings, provideFailureHandler);
+        return new DefaultProvider(this, parent, finders, binidings, provideFailureHandler);
     }
     
     /**
@@ -221,7 +330,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      */
     public DefaultProvider withAdditionalSupplier(IFindSupplier ... additionalSupplierFinders) {
         val finders = asList(additionalSupplierFinders);
-        return new DefaultProvider(parent, finders, binidings, provideFailureHandler);
+        return new DefaultProvider(this, parent, finders, binidings, provideFailureHandler);
     }
     
     /**
@@ -231,7 +340,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      * @return  a new default provider with all configuration of this provider except for the bindings.
      */
     public DefaultProvider withBindings(Bindings bindings) {
-        return new DefaultProvider(parent, additionalSupplierFinders, bindings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, bindings, provideFailureHandler);
     }
     
     /**
@@ -244,7 +353,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
         val bindings = Optional.ofNullable(bindingBuilder)
                      .map   (Bindings.Builder::build)
                      .orElse(null);
-        return new DefaultProvider(parent, additionalSupplierFinders, bindings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, bindings, provideFailureHandler);
     }
     
     /**
@@ -262,7 +371,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
         bindingMap.put(requireNonNull(clzz), requireNonNull(binding));
         
         val bindings = new Bindings((Map<Class, IBind>)(Map)bindingMap);
-        return new DefaultProvider(parent, additionalSupplierFinders, bindings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, bindings, provideFailureHandler);
     }
     
     /**
@@ -276,7 +385,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      */
     public <TYPE> DefaultProvider withBinding(Class<TYPE> clzz, TYPE instance) {
         val bindings = new Bindings.Builder().bind(requireNonNull(clzz), instance).build();
-        return new DefaultProvider(parent, additionalSupplierFinders, bindings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, bindings, provideFailureHandler);
     }
     
     /**
@@ -290,7 +399,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      */
     public <TYPE> DefaultProvider withBinding(Class<TYPE> clzz, Class<? extends TYPE> boundClzz) {
         val bindings = new Bindings.Builder().bind(requireNonNull(clzz), boundClzz).build();
-        return new DefaultProvider(parent, additionalSupplierFinders, bindings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, bindings, provideFailureHandler);
     }
     
     /**
@@ -300,7 +409,234 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      * @return  a new default provider with all configuration of this provider except for the handler.
      */
     public DefaultProvider withProvideFailureHandler(IHandleProvideFailure provideFailureHandler) {
-        return new DefaultProvider(parent, additionalSupplierFinders, binidings, provideFailureHandler);
+        return new DefaultProvider(this, parent, additionalSupplierFinders, binidings, provideFailureHandler);
+    }
+    
+    /**
+     * Create a new provider with the fast-fail mode turned on or off.
+     * 
+     * In the fast-fail mode, the exceptions created by the provider are stackless
+     *   and their messages are only formatted when asked for
+     *   -- and the failure of an abstract class with nothing to provide it is preallocated.
+     * This is for the failures that are thrown and caught in bulk.
+     * The stack traces can be brought back for debugging with {@link #withFullStackTrace(boolean)}.
+     * 
+     * @param isFastFail  {@code true} for the fast-fail mode.
+     * @return  a new default provider with all configuration of this provider except for the fast-fail mode.
+     */
+    public DefaultProvider withFastFail(boolean isFastFail) {
+        return new DefaultProvider(this, parent, additionalSupplierFinders, binidings, provideFailureHandler, isFastFail, isFullStackTrace);
+    }
+    
+    /** @return {@code true} if this provider is in the fast-fail mode. */
+    public boolean isFastFail() {
+        return isFastFail;
+    }
+    
+    /**
+     * Create a new provider that always fills in the stack traces of its exceptions -- even in the fast-fail mode.
+     * 
+     * This is for debugging the failures of a fast-fail provider.
+     * A provider created without an origin takes this from the system property {@link #FULL_STACK_TRACE_PROPERTY}.
+     * 
+     * @param isFullStackTrace  {@code true} if the stack traces are always filled in.
+     * @return  a new default provider with all configuration of this provider except for the full stack trace.
+     */
+    public DefaultProvider withFullStackTrace(boolean isFullStackTrace) {
+        return new DefaultProvider(this, parent, additionalSupplierFinders, binidings, provideFailureHandler, isFastFail, isFullStackTrace);
+    }
+    
+    /** @return {@code true} if this provider always fills in the stack traces of its exceptions. */
+    public boolean isFullStackTrace() {
+        return isFullStackTrace;
+    }
+    
+    /** @return {@code true} if the exceptions of this provider are stackless. */
+    boolean isStackless() {
+        return isStackless;
+    }
+    
+    /**
+     * Change the binding of the given class of this provider.
+     * 
+     * The bindings are replaced atomically with a new snapshot so readers never lock.
+     * Only the cached plans whose dependency closure includes the class
+     *   (or cannot be known -- such as from custom finders or factory bindings) are dropped
+     *   and resolved again when asked for.
+     * Providers derived from this provider keep the bindings they were derived with --
+     *   they only drop the plans they inherited that are dropped here.
+     * The scopes opened after this use the new binding while the scopes already opened keep the old one.
+     * 
+     * @param <TYPE>   the type of the class to be bound with.
+     * @param clzz     the class.
+     * @param binding  the new binding for the class.
+     */
+    public <TYPE> void rebind(Class<TYPE> clzz, IBind<? extends TYPE> binding) {
+        requireNonNull(clzz);
+        requireNonNull(binding);
+        
+        Bindings current;
+        Bindings updated;
+        do {
+            current = this.binidings;
+            updated = new Bindings.Builder(current).bind(clzz, binding).build();
+        } while (!bindingsUpdater.compareAndSet(this, current, updated));
+        
+        bindingsVersion.incrementAndGet();
+        scopeProviders.clear();
+        invalidate(clzz, emptySet());
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private void invalidate(Class reboundClass, Set<SupplierPlan> originDroppeds) {
+        val droppeds = new HashSet<SupplierPlan>();
+        val memo     = new HashMap<Class, Boolean>();
+        suppliers.forEach((clzz, plan) -> {
+            val isDropped = originDroppeds.contains(plan)
+                         || ((reboundClass != null) && dependsOn(clzz, plan, reboundClass, memo));
+            if (isDropped)
+                droppeds.add(plan);
+        });
+        suppliers.forEach((clzz, plan) -> {
+            if (droppeds.contains(plan))
+                suppliers.remove(clzz, plan);
+        });
+        
+        if (droppeds.isEmpty())
+            return;
+        
+        DefaultProvider[] derivedProviders;
+        synchronized (deriveds) {
+            derivedProviders = deriveds.toArray(new DefaultProvider[deriveds.size()]);
+        }
+        for (val derived : derivedProviders) {
+            derived.invalidate(null, droppeds);
+        }
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private boolean dependsOn(Class clzz, SupplierPlan plan, Class reboundClass, Map<Class, Boolean> memo) {
+        if (clzz == reboundClass)
+            return true;
+        
+        val known = memo.get(clzz);
+        if (known != null)
+            return known;
+        
+        // Assumed not to depend while being checked -- the other paths of the cycle decide.
+        memo.put(clzz, false);
+        
+        boolean isDependent = !plan.isTransparentTo(this);
+        for (val dependency : plan.dependencies()) {
+            if (isDependent)
+                break;
+            
+            val dependencyType = dependency.type();
+            val dependencyPlan = suppliers.get(dependencyType);
+            isDependent = (dependencyType == reboundClass)
+                       || ((dependencyPlan != null) && dependsOn(dependencyType, dependencyPlan, reboundClass, memo));
+        }
+        
+        memo.put(clzz, isDependent);
+        return isDependent;
+    }
+    
+    /**
+     * Freeze the graph reachable from the given classes into a sealed provider.
+     * 
+     * The returned provider only provides the frozen classes -- other classes fail with
+     *   {@link defaultj.core.exception.ClassNotFrozenException ClassNotFrozenException}.
+     * 
+     * @param roots  the classes to freeze with their dependencies.
+     * @return  the frozen provider.
+     * @throws ProvideDefaultException  if a root cannot be resolved or requires itself.
+     */
+    public FrozenProvider freeze(Class<?> ... roots) throws ProvideDefaultException {
+        return new FrozenProvider(this, roots, false);
+    }
+    
+    /**
+     * Freeze the graph reachable from the given classes into a sealed provider.
+     * 
+     * @param fallbackToThis  {@code true} if the classes not frozen are provided by this provider
+     *                          or {@code false} if they fail fast.
+     * @param roots           the classes to freeze with their dependencies.
+     * @return  the frozen provider.
+     * @throws ProvideDefaultException  if a root cannot be resolved or requires itself.
+     */
+    public FrozenProvider freeze(boolean fallbackToThis, Class<?> ... roots) throws ProvideDefaultException {
+        return new FrozenProvider(this, roots, fallbackToThis);
+    }
+    
+    /**
+     * Create a builder of a lightweight scope on top of this provider -- such as for a request.
+     * 
+     * @return  the scope builder.
+     */
+    public ScopedProvider.Builder scope() {
+        return new ScopedProvider.Builder(this);
+    }
+    
+    /**
+     * Returns the provider shared by the scopes binding the given classes.
+     * 
+     * The provider is derived from this provider so it inherits the plans not depending on the classes.
+     * The classes (and {@link IProvideDefault}) are bound to the scope in action.
+     * Only the first {@value #maxScopeShapes} shapes are kept -- the scopes of further shapes still work
+     *   but resolve their plans again each time.
+     * A shape binding a class that can be unloaded (such as from a plugin) is kept with that class
+     *   -- like the plans in {@link SupplierCache} -- so this provider does not keep the class reachable.
+     */
+    DefaultProvider shapeProviderFor(Class<?>[] classes) {
+        val base      = this.binidings;
+        val shape     = asList(classes);
+        val providers = scopeProvidersFor(classes, base);
+        val existing  = providers.get(shape);
+        if (existing != null)
+            return existing;
+        
+        val bindings = new Bindings.Builder(base);
+        bindScoped(bindings, IProvideDefault.class, -1);
+        for (int i = 0; i < classes.length; i++) {
+            bindScoped(bindings, classes[i], i);
+        }
+        
+        val shapeProvider = new DefaultProvider(this, parent, additionalSupplierFinders, bindings.build(), provideFailureHandler);
+        if (providers.size() >= maxScopeShapes)
+            return shapeProvider;
+        
+        val shared = _or(providers.putIfAbsent(shape, shapeProvider), shapeProvider);
+        // Rebound while being built -- do not keep the shape of the old bindings.
+        if (this.binidings != base)
+            providers.remove(shape, shapeProvider);
+        return shared;
+    }
+    
+    private Map<List<Class<?>>, DefaultProvider> scopeProvidersFor(Class<?>[] classes, Bindings base) {
+        for (val clzz : classes) {
+            if (!SupplierCache.isPermanent(clzz))
+                return unloadableScopeShapes.get(clzz).providersFor(base);
+        }
+        return scopeProviders;
+    }
+    
+    /** The providers of the scope shapes kept with a class -- dropped once the bindings they are built from change. */
+    private static final class ScopeShapes {
+        
+        private Bindings                             base;
+        private Map<List<Class<?>>, DefaultProvider> providers;
+        
+        synchronized Map<List<Class<?>>, DefaultProvider> providersFor(Bindings base) {
+            if (this.base != base) {
+                this.base      = base;
+                this.providers = new ConcurrentHashMap<List<Class<?>>, DefaultProvider>();
+            }
+            return providers;
+        }
+    }
+    
+    private static <TYPE> void bindScoped(Bindings.Builder bindings, Class<TYPE> clzz, int index) {
+        bindings.bind(clzz, new ScopedProvider.ScopeBinding<TYPE>(clzz, index));
     }
     
     /**
@@ -310,28 +646,488 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
      * @return the created value.
      * @throws ProvideDefaultException when there is a problem providing the default.
      */
-    @SuppressWarnings("rawtypes")
+    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
-        val set = beingCreateds.get();
-        if (set.contains(theGivenClass))
-            throw new CyclicDependencyDetectedException(theGivenClass);
+        // Constants (bound instances, enum values, singleton fields, ...) need no cyclic tracking.
+        val cached = suppliers.get(theGivenClass);
+        if ((cached != null) && cached.isKnownConstant()) {
+            val instance = ((ConstantSupplier)cached.supplier).knownValue();
+            return theGivenClass.isPrimitive() ? (TYPE)instance : theGivenClass.cast(instance);
+        }
+        
+        // Verified plans cannot lead back to the class so they need no cyclic tracking either.
+        val plan = checkedPlanFor(theGivenClass);
+        if (plan.isVerified())
+            return create(theGivenClass, plan.supplier, isStackless);
+        
+        val context = ResolutionContext.current();
+        if (context == null) {
+            try (val rootContext = ResolutionContext.open(theGivenClass, isStackless)) {
+                return create(theGivenClass, plan.supplier, isStackless);
+            }
+        }
         
+        context.enter(theGivenClass);
         try {
-            set.add(theGivenClass);
-            
+            return create(theGivenClass, plan.supplier, isStackless);
+        } finally {
+            context.exit();
+        }
+    }
+    
+    /**
+     * Returns the default for the given type key -- such as a fully parameterized type or a qualified type.
+     * 
+     * The binding of the exact type is used if there is one;
+     *   otherwise, the default of the type without the qualifier
+     *   and then the default of the raw class of the type is given.
+     * The key of a plain class is the same as {@link #get(Class)}.
+     * 
+     * @param typeKey  the type key.
+     * @return the default value.
+     * @throws ProvideDefaultException when there is a problem providing the default.
+     */
+    @Override
+    public Object get(TypeKey typeKey) throws ProvideDefaultException {
+        return keyedDefaultOf(this, binidings, typeKey, isStackless);
+    }
+    
+    /** The default of the type key as given by the bindings -- the classes are from the provider. */
+    static Object keyedDefaultOf(IProvideKeyedDefault provider, Bindings bindings, TypeKey typeKey, boolean isStackless) {
+        val rawClass = typeKey.rawClass();
+        if (typeKey.isPlainClass())
+            return provider.get(rawClass);
+        
+        val binding = bindings.getBinding(typeKey);
+        if (binding == null)
+            return typeKey.isQualified() ? provider.get(typeKey.unqualified()) : provider.get(rawClass);
+        
+        try {
+            return binding.get(provider);
+        } catch (ProvideDefaultException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw failure(rawClass, e, isStackless);
+        }
+    }
+    
+    /** @return  the bindings of this provider. */
+    Bindings bindings() {
+        return binidings;
+    }
+    
+    /**
+     * Get the defaults of the given classes in one pass.
+     * 
+     * The plans of all the classes are resolved (and checked) first -- the dependencies shared by the classes
+     *   are resolved and checked only once -- then the defaults are created within a single resolution context.
+     * A class that fails does not stop the others: the failure is reported in the result.
+     * 
+     * @param classes  the classes.
+     * @return  the defaults and the failures of the classes.
+     */
+    @SuppressWarnings("rawtypes")
+    public DefaultBatch getAll(Class<?> ... classes) {
+        val distincts = new LinkedHashSet<Class<?>>(asList(classes)).toArray(new Class<?>[0]);
+        val plans     = new SupplierPlan[distincts.length];
+        val values    = new Object[distincts.length];
+        val failures  = new LinkedHashMap<Class<?>, ProvideDefaultException>();
+        for (int i = 0; i < distincts.length; i++) {
             try {
-                val supplier = getSupplierFor(theGivenClass);
-                val instance = supplier.get();
-                return theGivenClass.isPrimitive() ? instance : theGivenClass.cast(instance);
+                plans[i] = checkedPlanFor(distincts[i]);
             } catch (ProvideDefaultException e) {
-                throw e;
-            } catch (Throwable e) {
-                throw new ProvideDefaultException(theGivenClass, e);
+                failures.put(distincts[i], e);
+            }
+        }
+        
+        val current = ResolutionContext.current();
+        val context = (current != null) ? current : ResolutionContext.open(isStackless);
+        try {
+            for (int i = 0; i < distincts.length; i++) {
+                if (plans[i] == null)
+                    continue;
+                
+                try {
+                    values[i] = createInContext(distincts[i], plans[i], context);
+                } catch (ProvideDefaultException e) {
+                    failures.put(distincts[i], e);
+                }
             }
         } finally {
-            set.remove(theGivenClass);
+            if (current == null)
+                context.close();
+        }
+        return new DefaultBatch(distincts, values, failures);
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private Object createInContext(Class theGivenClass, SupplierPlan plan, ResolutionContext context) {
+        if (plan.isVerified())
+            return create(theGivenClass, plan.supplier, isStackless);
+        
+        context.enter(theGivenClass);
+        try {
+            return create(theGivenClass, plan.supplier, isStackless);
+        } finally {
+            context.exit();
+        }
+    }
+    
+    /**
+     * Resolve and cache the supplier plans of the given classes and all the classes they depend on
+     *   -- without creating any default.
+     * 
+     * This pays the cost of the finders (reflection and classification of the parameters)
+     *   and of the cycle check ahead, for example on a background thread before the traffic arrives.
+     * 
+     * @param roots  the classes.
+     * @return  the report of the preload.
+     */
+    public PreloadReport preload(Class<?> ... roots) {
+        return new Preloader(this, null).preload(roots);
+    }
+    
+    /**
+     * Resolve and cache the supplier plans of the given classes and all the classes they depend on
+     *   -- without creating any default -- in parallel on the given executor.
+     * 
+     * Each class is resolved as a separate task so a bounded executor bounds the parallelism.
+     * No task waits for another so the executor can be of any size.
+     * 
+     * @param executor  the executor.
+     * @param roots     the classes.
+     * @return  the report of the preload.
+     */
+    public PreloadReport preload(Executor executor, Class<?> ... roots) {
+        return new Preloader(this, requireNonNull(executor)).preload(roots);
+    }
+    
+    /**
+     * Start recording the classes this provider resolves -- in the order they are resolved.
+     * 
+     * The recording can be written as a warm-up profile (see {@link #writeProfile(Path)})
+     *   to be replayed at the next start (see {@link #replayProfile(Path, Executor)}).
+     * Starting again discards what was recorded.
+     */
+    public void startRecording() {
+        recordeds = new ConcurrentLinkedQueue<Class<?>>();
+    }
+    
+    /**
+     * Stop recording the classes this provider resolves.
+     * 
+     * @return  the classes recorded in the order they were resolved.
+     */
+    public List<Class<?>> stopRecording() {
+        val recorded = recordedClasses();
+        recordeds = null;
+        return recorded;
+    }
+    
+    /** @return  the classes recorded so far in the order they were resolved -- empty if not recording. */
+    public List<Class<?>> recordedClasses() {
+        val recordeds = this.recordeds;
+        return (recordeds != null) ? new ArrayList<Class<?>>(recordeds) : emptyList();
+    }
+    
+    /**
+     * Write the classes recorded so far as a warm-up profile.
+     * 
+     * @param profile  the profile file.
+     * @throws IOException  if the profile cannot be written.
+     */
+    public void writeProfile(Path profile) throws IOException {
+        WarmUpProfile.write(profile, recordedClasses());
+    }
+    
+    /**
+     * Preload the plans of the classes in the warm-up profile in the background -- in the order they were recorded.
+     * 
+     * The profile is read and the plans are resolved on the executor so this returns right away.
+     * Nothing is preloaded if the profile does not exist (such as at the very first start)
+     *   and the classes no longer found are skipped.
+     * 
+     * @param profile   the profile file.
+     * @param executor  the executor to preload with.
+     * @return  the future of the report of the preload.
+     */
+    public CompletableFuture<PreloadReport> replayProfile(Path profile, Executor executor) {
+        requireNonNull(profile);
+        requireNonNull(executor);
+        
+        val classLoader = _or(Thread.currentThread().getContextClassLoader(), DefaultProvider.class.getClassLoader());
+        return CompletableFuture.supplyAsync(()->{
+            try {
+                return WarmUpProfile.read(profile, classLoader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor)
+        .thenCompose(classes -> new Preloader(this, executor).preloadAsync(classes.toArray(new Class<?>[classes.size()])));
+    }
+    
+    /**
+     * Write the snapshot of the plans this provider found with the constructor strategy.
+     * 
+     * A provider with the same finders can load the snapshot (see {@link #loadSnapshot(Path)})
+     *   to rebuild those suppliers without running the finder chain.
+     * 
+     * @param file  the snapshot file.
+     * @return  the number of the plans written.
+     * @throws IOException  if the snapshot cannot be written.
+     */
+    @SuppressWarnings("rawtypes")
+    public int writeSnapshot(Path file) throws IOException {
+        val finder  = constructorFinder();
+        val classes = new ArrayList<Class>();
+        suppliers.forEach((clzz, plan) -> {
+            if ((plan.finder() == finder) && _isNull(plan.problem()))
+                classes.add(clzz);
+        });
+        return PlanSnapshot.write(file, snapshotFingerprint(), finder, classes);
+    }
+    
+    /**
+     * Load the plan snapshot so the suppliers of the classes in it are rebuilt from it instead of running the finder chain.
+     * 
+     * The file is mapped to memory and is only used when it is intact, of this version
+     *   and written by a provider with the same finders.
+     * Each class is also checked against the hash of its class file when it is resolved
+     *   -- a class changed since falls back to the finder chain.
+     * 
+     * @param file  the snapshot file.
+     * @return  {@code true} if the snapshot is loaded or {@code false} if it does not exist or cannot be used.
+     * @throws IOException  if the snapshot cannot be read.
+     */
+    public boolean loadSnapshot(Path file) throws IOException {
+        val loaded = PlanSnapshot.load(file, snapshotFingerprint(), constructorFinder());
+        if (_isNull(loaded))
+            return false;
+        
+        snapshot = loaded;
+        return true;
+    }
+    
+    /**
+     * Returns the number of plans rebuilt from the loaded snapshot instead of running the finder chain.
+     * 
+     * @return  the snapshot hit count.
+     */
+    public long snapshotHitCount() {
+        return snapshotHitCount.sum();
+    }
+    
+    private ConstructorSupplierFinder constructorFinder() {
+        for (val finder : afterAdditionalFinders) {
+            if (finder instanceof ConstructorSupplierFinder)
+                return (ConstructorSupplierFinder)finder;
+        }
+        throw new IllegalStateException("No constructor finder.");
+    }
+    
+    // The snapshot is only valid for the providers whose finder chain (and so the strategy chosen for each class) is the same.
+    private long snapshotFingerprint() {
+        val crc = new CRC32();
+        for (val finder : finders) {
+            crc.update(finder.getClass().getName().getBytes(UTF_8));
+            crc.update(0);
+        }
+        crc.update(_isNull(parent) ? 0 : 1);
+        return crc.getValue();
+    }
+    
+    /**
+     * Eagerly initialize the defaults of the given classes and all their dependencies
+     *   using as many threads as there are processors.
+     * 
+     * @param roots  the classes.
+     * @return  the report of the initialization.
+     */
+    public InitializationReport initializeAll(Class<?> ... roots) {
+        return initializeAll(asList(roots), Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Eagerly initialize the defaults of the given classes and all their dependencies.
+     * 
+     * The dependency graph is computed from the supplier plans and the classes are initialized in topological layers
+     *   -- the classes of a layer in parallel, after all their dependencies are initialized.
+     * So the time approaches the time of the longest chain of dependencies (the critical path, which is reported)
+     *   instead of the sum of the time of every class.
+     * A class that fails does not stop the others: the failure is reported.
+     * 
+     * @param roots        the classes.
+     * @param parallelism  the number of threads to use -- one to initialize in the calling thread.
+     * @return  the report of the initialization.
+     */
+    public InitializationReport initializeAll(Collection<Class<?>> roots, int parallelism) {
+        return new Initializer(this, parallelism).initialize(roots);
+    }
+    
+    /**
+     * Get the default of the given class asynchronously using the common fork-join pool.
+     * 
+     * @param <TYPE>         the data type represented by the given class.
+     * @param theGivenClass  the given class.
+     * @return  the future of the default.
+     */
+    public <TYPE> CompletableFuture<TYPE> getAsync(Class<TYPE> theGivenClass) {
+        return getAsync(theGivenClass, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Get the default of the given class asynchronously.
+     * 
+     * The plans are resolved and checked by the calling thread so a cycle (or another resolution problem)
+     *   fails the future right away with the same exception {@link #get(Class)} would throw.
+     * When the plan is verified (no cycle can be reached), the required dependencies of the constructor
+     *   (or of the implementation) are created in parallel on the executor
+     *   and the default is created once they all are -- independent subtrees are built concurrently
+     *   and no task ever blocks waiting for another.
+     * Other plans are created with {@link #get(Class)} in a single task so the cycles are tracked within one thread.
+     * 
+     * The executor can be, for example, a {@link ForkJoinPool} or an executor of virtual threads
+     *   (with the runtime that supports them).
+     * 
+     * @param <TYPE>         the data type represented by the given class.
+     * @param theGivenClass  the given class.
+     * @param executor       the executor to create the defaults with.
+     * @return  the future of the default.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public <TYPE> CompletableFuture<TYPE> getAsync(Class<TYPE> theGivenClass, Executor executor) {
+        requireNonNull(executor);
+        
+        SupplierPlan plan;
+        try {
+            plan = checkedPlanFor(theGivenClass);
+        } catch (ProvideDefaultException e) {
+            val failed = new CompletableFuture<TYPE>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        
+        if (plan.isKnownConstant()) {
+            return CompletableFuture.completedFuture(create(theGivenClass, plan.supplier, isStackless));
+        }
+        
+        val requireds = requiredDependenciesOf(plan);
+        if (requireds.isEmpty())
+            return CompletableFuture.supplyAsync(()->get(theGivenClass), executor);
+        
+        val supplier = (DependentSupplier)plan.supplier;
+        val futures  = new CompletableFuture[requireds.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = getAsync(requireds.get(i), executor);
+        }
+        return CompletableFuture.allOf(futures).thenApplyAsync(done -> {
+            val prefetcheds = new PrefetchedProvider(this, requireds, futures);
+            return create(theGivenClass, supplier.supplierWith(prefetcheds), isStackless);
+        }, executor);
+    }
+    
+    /** Returns the required dependencies that can be created ahead for the plan or an empty list if none can. */
+    @SuppressWarnings("rawtypes")
+    private List<Class> requiredDependenciesOf(SupplierPlan plan) {
+        if (!plan.isVerified()
+         || !plan.isTransparentTo(this)
+         || !(plan.supplier instanceof DependentSupplier)
+         || !((DependentSupplier)plan.supplier).isRebindable())
+            return emptyList();
+        
+        val requireds = new ArrayList<Class>();
+        for (val dependency : plan.dependencies()) {
+            if (dependency.kind() == Dependency.Kind.REQUIRED)
+                requireds.add(dependency.type());
+        }
+        return requireds;
+    }
+    
+    /**
+     * A provider that gives the defaults created ahead -- each once -- and gets the rest from the provider.
+     * 
+     * It is used by a single creation so it is not thread-safe.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final class PrefetchedProvider implements IProvideKeyedDefault {
+        
+        private final IProvideDefault provider;
+        private final Class[]         classes;
+        private final Object[]        values;
+        
+        PrefetchedProvider(IProvideDefault provider, List<Class> classes, CompletableFuture[] futures) {
+            this.provider = provider;
+            this.classes  = classes.toArray(new Class[classes.size()]);
+            this.values   = new Object[futures.length];
+            for (int i = 0; i < futures.length; i++) {
+                values[i] = futures[i].join();
+            }
         }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+            for (int i = 0; i < classes.length; i++) {
+                if (classes[i] == theGivenClass) {
+                    classes[i] = null;
+                    return (TYPE)values[i];
+                }
+            }
+            return provider.get(theGivenClass);
+        }
+        
+        // Only the classes are created ahead.
+        @Override
+        public Object get(TypeKey typeKey) throws ProvideDefaultException {
+            return typeKey.isPlainClass()
+                    ? get(typeKey.rawClass())
+                    : IProvideKeyedDefault.getFrom(provider, typeKey);
+        }
+    }
+    
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static <TYPE> TYPE create(Class<TYPE> theGivenClass, Supplier supplier, boolean isStackless) {
+        try {
+            val instance = supplier.get();
+            return theGivenClass.isPrimitive() ? (TYPE)instance : theGivenClass.cast(instance);
+        } catch (ProvideDefaultException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw failure(theGivenClass, e, isStackless);
+        }
+    }
+    
+    static ProvideDefaultException failure(Class<?> theGivenClass, Throwable cause, boolean isStackless) {
+        return isStackless
+                ? ProvideDefaultException.stackless(theGivenClass, cause)
+                : new ProvideDefaultException(theGivenClass, cause);
+    }
+    
+    /**
+     * Returns a handle that is bound to the supplier of the given class.
+     * 
+     * The supplier chain is resolved now so calling the handle only runs the instantiation work --
+     *   similar to a Guice {@code Provider<T>}.
+     * Cyclic dependency involving the class is still detected:
+     *   binding a handle to a class that requires itself or while the class itself is being created fails right away
+     *   and a cycle reached while the handle creates the default is reported
+     *   from the first class that is asked for twice.
+     * A handle created in a scope keeps creating the default in that scope.
+     * 
+     * @param <TYPE>         the data type represented by the given class.
+     * @param theGivenClass  the given class.
+     * @return  the handle.
+     * @throws ProvideDefaultException  if there is a problem resolving the supplier.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public <TYPE> DefaultHandle<TYPE> handleFor(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+        ResolutionContext.ensureNotBeingCreated(theGivenClass);
+        
+        val plan     = checkedPlanFor(theGivenClass);
+        val scope    = ScopedProvider.currentScopeOf(this);
+        val supplier = (scope != null) ? scope.bound(plan.supplier) : plan.supplier;
+        return new DefaultHandle<TYPE>(theGivenClass, supplier, isStackless);
     }
     
     /**
@@ -348,17 +1144,517 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
         return Nullable.of(get(theGivenClass));
     }
     
+    /**
+     * Check if the default for the given class can be provided.
+     * 
+     * This is answered from the supplier plans without creating the default and without throwing:
+     *   the class cannot be provided if its resolution failed, it requires itself, it is abstract with nothing to provide it
+     *   or one of its required dependencies cannot be provided.
+     * The answer is cached with the plan so probing again costs only a lookup.
+     * 
+     * @param theGivenClass  the given class.
+     * @return  {@code false} if getting the default is known to fail.
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean canProvide(Class<?> theGivenClass) {
+        val cached = suppliers.get(theGivenClass);
+        if ((cached != null) && cached.isKnownConstant())
+            return true;
+        
+        try {
+            val plan = probedPlanFor(theGivenClass);
+            return isProvidable(theGivenClass, plan, new HashSet<Class>(singleton(theGivenClass)));
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Returns the default for the given class as Optional -- empty if the default cannot be provided (or is null).
+     * 
+     * A class known not to be providable returns empty without an exception being thrown.
+     * 
+     * @param <TYPE>  the data type represented by the given class.
+     * @param theGivenClass
+     *          the given class.
+     * @return  the default associated with the given class.
+     */
+    @Override
+    public <TYPE> Optional<TYPE> tryGet(Class<TYPE> theGivenClass) {
+        if (!canProvide(theGivenClass))
+            return Optional.empty();
+        
+        try {
+            return Optional.ofNullable(get(theGivenClass));
+        } catch (ProvideDefaultException e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Returns the default int.
+     * 
+     * Once the default is known to be constant (the known null value or a bound instance),
+     *   it is unboxed from the cached plan so no boxing nor cyclic tracking happens.
+     * 
+     * @return  the default int -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     */
+    @Override
+    public int getInt() throws ProvideDefaultException {
+        val value = primitiveOf(int.class);
+        return (value != null) ? ((Integer)value).intValue() : 0;
+    }
+    
+    /**
+     * Returns the default long.
+     * 
+     * @return  the default long -- {@code 0L} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public long getLong() throws ProvideDefaultException {
+        val value = primitiveOf(long.class);
+        return (value != null) ? ((Long)value).longValue() : 0L;
+    }
+    
+    /**
+     * Returns the default double.
+     * 
+     * @return  the default double -- {@code 0.0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public double getDouble() throws ProvideDefaultException {
+        val value = primitiveOf(double.class);
+        return (value != null) ? ((Double)value).doubleValue() : 0.0;
+    }
+    
+    /**
+     * Returns the default boolean.
+     * 
+     * @return  the default boolean -- {@code false} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public boolean getBoolean() throws ProvideDefaultException {
+        val value = primitiveOf(boolean.class);
+        return (value != null) ? ((Boolean)value).booleanValue() : false;
+    }
+    
+    /**
+     * Returns the default byte.
+     * 
+     * @return  the default byte -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public byte getByte() throws ProvideDefaultException {
+        val value = primitiveOf(byte.class);
+        return (value != null) ? ((Byte)value).byteValue() : 0;
+    }
+    
+    /**
+     * Returns the default short.
+     * 
+     * @return  the default short -- {@code 0} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public short getShort() throws ProvideDefaultException {
+        val value = primitiveOf(short.class);
+        return (value != null) ? ((Short)value).shortValue() : 0;
+    }
+    
+    /**
+     * Returns the default char.
+     * 
+     * @return  the default char -- {@code '\0'} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public char getChar() throws ProvideDefaultException {
+        val value = primitiveOf(char.class);
+        return (value != null) ? ((Character)value).charValue() : '\0';
+    }
+    
+    /**
+     * Returns the default float.
+     * 
+     * @return  the default float -- {@code 0.0f} if the default is null.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see #getInt()
+     */
+    @Override
+    public float getFloat() throws ProvideDefaultException {
+        val value = primitiveOf(float.class);
+        return (value != null) ? ((Float)value).floatValue() : 0.0f;
+    }
+    
+    /**
+     * Returns a supplier of the default int that does not box the value.
+     * 
+     * The supplier always reads the current plan so it follows rebinding of {@code int.class}.
+     * There are suppliers for the primitive types that have a functional supplier in {@link java.util.function}
+     *   -- the others can be read with {@link #getByte()}, {@link #getShort()}, {@link #getChar()} and {@link #getFloat()}.
+     * 
+     * @return  the int supplier.
+     */
+    public IntSupplier<ProvideDefaultException> intSupplier() {
+        return this::getInt;
+    }
+    
+    /**
+     * Returns a supplier of the default long that does not box the value.
+     * 
+     * @return  the long supplier.
+     * @see #intSupplier()
+     */
+    public LongSupplier<ProvideDefaultException> longSupplier() {
+        return this::getLong;
+    }
+    
+    /**
+     * Returns a supplier of the default double that does not box the value.
+     * 
+     * @return  the double supplier.
+     * @see #intSupplier()
+     */
+    public DoubleSupplier<ProvideDefaultException> doubleSupplier() {
+        return this::getDouble;
+    }
+    
+    /**
+     * Returns a supplier of the default boolean that does not box the value.
+     * 
+     * @return  the boolean supplier.
+     * @see #intSupplier()
+     */
+    public BooleanSupplier<ProvideDefaultException> booleanSupplier() {
+        return this::getBoolean;
+    }
+    
+    /** The boxed value already held by the cached constant plan -- so unboxing it never allocates. */
+    @SuppressWarnings("rawtypes")
+    private Object primitiveOf(Class<?> primitiveClass) {
+        val cached = suppliers.get(primitiveClass);
+        if ((cached != null) && cached.isKnownConstant())
+            return ((ConstantSupplier)cached.supplier).knownValue();
+    
+        return get(primitiveClass);
+    }
+    
+    /**
+     * Returns the number of times the supplier of a class was resolved by running the finders.
+     * 
+     * @return  the resolution count.
+     */
+    public long resolutionCount() {
+        return resolutionCount.sum();
+    }
+    
+    /**
+     * Returns the number of times a thread asked for a supplier that another thread was resolving
+     *   and had to wait for (or share) that resolution.
+     * 
+     * @return  the contended resolution count.
+     */
+    public long contendedResolutionCount() {
+        return contendedResolutionCount.sum();
+    }
+    
     @SuppressWarnings({ "unchecked", "rawtypes" })
     <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> getSupplierFor(
             Class<TYPE> theGivenClass) {
+        return planFor(theGivenClass).supplier;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    SupplierPlan planFor(Class theGivenClass) {
+        SupplierPlan plan = cachedPlanFor(theGivenClass);
+        if (_isNull(plan))
+            plan = resolvePlanFor(theGivenClass);
+        return plan;
+    }
+    
+    /**
+     * Returns the plan of the given class that is cached in this provider or can be inherited from the origin.
+     * 
+     * A verified plan of the origin is inherited (copy on write) when no class in its dependency closure
+     *   is affected by the configuration this provider changes -- a different binding of the class
+     *   (or of a parameterized or qualified type it asks for),
+     *   a different finder list (for the classes found by the additional finders or later)
+     *   or a different failure handler (for the classes that fail).
+     * The inherited plan still creates its dependencies through the origin which gives the same defaults.
+     */
+    @SuppressWarnings("rawtypes")
+    private SupplierPlan cachedPlanFor(Class theGivenClass) {
+        val plan = suppliers.get(theGivenClass);
+        if (_isNotNull(plan) || _isNull(origin))
+            return plan;
+        
+        return inheritPlanFor(theGivenClass, new HashMap<Class, SupplierPlan>());
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private SupplierPlan inheritPlanFor(Class theGivenClass, Map<Class, SupplierPlan> inheriteds) {
+        if (inheriteds.containsKey(theGivenClass))
+            return inheriteds.get(theGivenClass);
+        
+        SupplierPlan plan = suppliers.get(theGivenClass);
+        if (_isNull(plan)) {
+            plan = origin.cachedPlanFor(theGivenClass);
+            if (_isNotNull(plan) && !canInherit(theGivenClass, plan, inheriteds))
+                plan = null;
+            if (_isNotNull(plan))
+                suppliers.put(theGivenClass, plan);
+        }
+        inheriteds.put(theGivenClass, plan);
+        return plan;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    private boolean canInherit(Class theGivenClass, SupplierPlan plan, Map<Class, SupplierPlan> inheriteds) {
+        if (!plan.isVerified())
+            return false;
+        if (this.binidings.getBinding(theGivenClass) != origin.binidings.getBinding(theGivenClass))
+            return false;
+        
+        switch (plan.stage()) {
+        case SupplierPlan.BOUND:
+        case SupplierPlan.PRESET:
+            break;
+        case SupplierPlan.FOUND:
+            if (isFinderChanged)
+                return false;
+            break;
+        case SupplierPlan.FALLBACK:
+            if (isFinderChanged || isHandlerChanged)
+                return false;
+            break;
+        default:
+            return false;
+        }
+        
+        for (val dependency : plan.dependencies()) {
+            if (!canInheritKey(dependency.typeKey(), inheriteds))
+                return false;
+        }
+        return true;
+    }
+    
+    // The default of a type key is the same when every binding the key goes through is the same.
+    @SuppressWarnings("rawtypes")
+    private boolean canInheritKey(TypeKey typeKey, Map<Class, SupplierPlan> inheriteds) {
+        if (typeKey.isPlainClass())
+            return _isNotNull(inheritPlanFor(typeKey.rawClass(), inheriteds));
+        
+        val binding = this.binidings.getBinding(typeKey);
+        if (binding != origin.binidings.getBinding(typeKey))
+            return false;
+        if (binding == null) {
+            val nextKey = typeKey.isQualified() ? typeKey.unqualified() : TypeKey.of(typeKey.rawClass());
+            return canInheritKey(nextKey, inheriteds);
+        }
+        if (binding instanceof InstanceBinding)
+            return true;
+        if (binding instanceof TypeBinding)
+            return _isNotNull(inheritPlanFor(((TypeBinding)binding).referedType(), inheriteds));
+        
+        return false;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    SupplierPlan checkedPlanFor(Class theGivenClass) {
+        try {
+            val plan    = probedPlanFor(theGivenClass);
+            val problem = plan.newProblem();
+            if (_isNotNull(problem))
+                throw problem;
+            return plan;
+        } catch (ProvideDefaultException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw failure(theGivenClass, e, isStackless);
+        }
+    }
+    
+    /**
+     * Returns the plan of the given class after checking it for cycles.
+     * 
+     * A known problem (such as the class requiring itself) is kept in the plan instead of thrown
+     *   so it is found only once and probing for it costs no exception.
+     * Only such deterministic problems are kept -- a failing finder is run again the next time.
+     */
+    @SuppressWarnings("rawtypes")
+    private SupplierPlan probedPlanFor(Class theGivenClass) {
+        val plan = planFor(theGivenClass);
+        if (_isNull(plan.problem())) {
+            try {
+                CycleChecker.check(this, theGivenClass, plan);
+            } catch (CyclicDependencyDetectedException e) {
+                plan.problem(e);
+            }
+        }
+        return plan;
+    }
+    
+    /**
+     * Check if the default of the given class is providable as far as can be known without creating it.
+     * 
+     * The default is not providable if its resolution failed, the class requires itself,
+     *   the class is abstract with nothing to provide it or one of its required dependencies is not providable.
+     * The result is cached in the plan.
+     */
+    @SuppressWarnings("rawtypes")
+    private boolean isProvidable(Class theGivenClass, SupplierPlan plan, Set<Class> visitings) {
+        val providability = plan.providability();
+        if (providability != SupplierPlan.PROVIDABLE_UNKNOWN)
+            return providability == SupplierPlan.PROVIDABLE;
+        
+        boolean isProvidable = _isNull(plan.problem())
+                            && !((plan.stage() == SupplierPlan.FALLBACK)
+                              && _isNull(provideFailureHandler)
+                              && isAbstract(theGivenClass));
+        if (isProvidable && plan.isTransparentTo(this)) {
+            for (val dependency : plan.dependencies()) {
+                val dependencyType = dependency.type();
+                if ((dependency.kind() != Dependency.Kind.REQUIRED) || !visitings.add(dependencyType))
+                    continue;
+                
+                if (!isProvidable(dependencyType, probedPlanFor(dependencyType), visitings)) {
+                    isProvidable = false;
+                    break;
+                }
+            }
+        }
+        
+        plan.providability(isProvidable ? SupplierPlan.PROVIDABLE : SupplierPlan.NOT_PROVIDABLE);
+        return isProvidable;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    static boolean isAbstract(Class theGivenClass) {
+        return theGivenClass.isInterface()
+            || Modifier.isAbstract(theGivenClass.getModifiers());
+    }
+    
+    /**
+     * Resolve the supplier plan of the given class -- at most one resolution per class at a time.
+     * 
+     * The first thread claims the resolution and runs the finders.
+     * Other threads wait for the result of that resolution.
+     * When the resolution recurses back to a class this thread is already resolving
+     *   -- directly or through the resolutions other threads (of any provider) are waiting for --
+     *   waiting would be a deadlock so a supplier that looks up the class again when called is returned instead.
+     * If the class is still being resolved when that supplier is called,
+     *   the plan is resolved again without being cached.
+     */
+    @SuppressWarnings({ "rawtypes" })
+    private SupplierPlan resolvePlanFor(Class theGivenClass) {
+        return resolvePlanFor(theGivenClass, true);
+    }
+    
+    @SuppressWarnings({ "rawtypes" })
+    private SupplierPlan resolvePlanFor(Class theGivenClass, boolean canDefer) {
+        val resolution = new Resolution();
+        val existing   = resolutions.putIfAbsent(theGivenClass, resolution);
+        if (existing != null) {
+            contendedResolutionCount.increment();
+            val plan = existing.await(theGivenClass, isStackless);
+            if (_isNotNull(plan))
+                return plan;
+            if (canDefer)
+                return new SupplierPlan(deferredSupplierFor(theGivenClass), SupplierPlan.DEFERRED);
+            
+            resolutionCount.increment();
+            return newPlanFor(theGivenClass, this);
+        }
         
-        Supplier supplier = suppliers.get(theGivenClass);
-        if (_isNull(supplier)) {
-            supplier = newSupplierFor(theGivenClass);
-            supplier = _or(supplier, NoSupplier);
-            suppliers.put(theGivenClass, supplier);
+        try {
+            SupplierPlan plan = suppliers.get(theGivenClass);
+            if (_isNull(plan)) {
+                resolutionCount.increment();
+                val version = bindingsVersion.get();
+                plan = newPlanFor(theGivenClass, this);
+                suppliers.put(theGivenClass, plan);
+                
+                // Rebound while resolving -- the plan may be from the old bindings so do not keep it.
+                if (version != bindingsVersion.get())
+                    suppliers.remove(theGivenClass, plan);
+                
+                val recordeds = this.recordeds;
+                if (recordeds != null)
+                    recordeds.add(theGivenClass);
+            }
+            resolution.result.complete(plan);
+            return plan;
+        } catch (RuntimeException | Error e) {
+            resolution.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            resolutions.remove(theGivenClass, resolution);
+        }
+    }
+    
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Supplier deferredSupplierFor(Class theGivenClass) {
+        return ()->{
+            SupplierPlan plan = cachedPlanFor(theGivenClass);
+            if (_isNull(plan))
+                plan = resolvePlanFor(theGivenClass, false);
+            return plan.supplier.get();
+        };
+    }
+    
+    private static final class Resolution {
+        
+        private final Thread                          owner  = Thread.currentThread();
+        private final CompletableFuture<SupplierPlan> result = new CompletableFuture<>();
+        
+        /**
+         * Wait for the plan. A failed resolution is thrown as a new exception caused by the failure
+         *   as the failure itself is thrown in the thread that resolved.
+         * 
+         * @return  the resolved plan or {@code null} if waiting for it would be waiting for the current thread.
+         */
+        SupplierPlan await(Class<?> theGivenClass, boolean isStackless) {
+            val currentThread = Thread.currentThread();
+            waitings.put(currentThread, this);
+            try {
+                if (isHeldBy(currentThread))
+                    return null;
+                
+                return result.get();
+            } catch (ExecutionException e) {
+                throw failure(theGivenClass, e.getCause(), isStackless);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProvideDefaultException(theGivenClass, e);
+            } finally {
+                waitings.remove(currentThread);
+            }
+        }
+        
+        // Whether the thread owns this resolution or a resolution its owner is (transitively) waiting for.
+        // The waiting thread registers before checking so, of two threads about to wait for each other,
+        //   at least the later one sees the cycle.
+        private boolean isHeldBy(Thread thread) {
+            Resolution resolution = this;
+            for (int i = waitings.size(); (resolution != null) && (i >= 0); i--) {
+                if (resolution.owner == thread)
+                    return true;
+                resolution = waitings.get(resolution.owner);
+            }
+            return false;
         }
-        return supplier;
     }
     
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -375,33 +1671,68 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
                         : null;
     }
     
+    /**
+     * Create a new plan for the given class.
+     * 
+     * @param theGivenClass  the class.
+     * @param provider       the provider the dependencies of the plan are obtained from -- normally this provider.
+     * @return  the plan.
+     */
     @SuppressWarnings({ "rawtypes" })
-    private <T> Supplier newSupplierFor(Class<T> theGivenClass) {
+    <T> SupplierPlan newPlanFor(Class<T> theGivenClass, IProvideDefault provider) {
         val binding = this.binidings.getBinding(theGivenClass);
+        if (binding instanceof InstanceBinding)
+            return new SupplierPlan(ConstantSupplier.of(binding.get(provider)), SupplierPlan.BOUND);
+        if (binding instanceof TypeBinding) {
+            val dependencies = asList(required(((TypeBinding)binding).referedType()));
+            return new SupplierPlan(new DependentSupplier(()->binding.get(provider), provider, dependencies), SupplierPlan.BOUND);
+        }
         if (_isNotNull(binding))
-            return ()->binding.get(this);
+            return new SupplierPlan(()->binding.get(provider), SupplierPlan.BOUND);
         
         if (DefaultProvider.class.isAssignableFrom(theGivenClass))
-            return ()->this;
+            return new SupplierPlan(ConstantSupplier.of(this), SupplierPlan.PROVIDER);
         
-        val parentProvider = (IProvideDefault)_or(this.parent, this);
-        for (val finder : finders) {
-            val supplier = finder.find(theGivenClass, parentProvider);
-            if (_isNotNull(supplier))
-                return supplier;
+        val parentProvider = (IProvideDefault)_or(this.parent, provider);
+        
+        val snapshot = this.snapshot;
+        if (_isNotNull(snapshot)) {
+            val supplier = snapshot.supplierFor(theGivenClass, parentProvider);
+            if (_isNotNull(supplier)) {
+                snapshotHitCount.increment();
+                return new SupplierPlan(supplier, SupplierPlan.FOUND, snapshot.finder());
+            }
+        }
+        
+        for (int i = 0; i < finders.size(); i++) {
+            val supplier = finders.get(i).find(theGivenClass, parentProvider);
+            if (_isNotNull(supplier)) {
+                val stage = (i < beforeAdditionalFinders.size()) ? SupplierPlan.PRESET : SupplierPlan.FOUND;
+                return new SupplierPlan(supplier, stage, finders.get(i));
+            }
         }
         
         if (IProvideDefault.class.isAssignableFrom(theGivenClass))
-            return ()->this;
+            return new SupplierPlan(ConstantSupplier.of(provider), SupplierPlan.PROVIDER);
         
             val knownValue = knownNullValuesFinder.findNullValueOf(theGivenClass);
         if (knownValue != null)
-            return ()->knownValue;
+            return new SupplierPlan(ConstantSupplier.of(knownValue), SupplierPlan.FOUND);
             
-        if (knownNewNullValuesFinder.canFindFor(theGivenClass))
-            return ()->knownNewNullValuesFinder.findNullValueOf(theGivenClass);
+        if (knownNewNullValuesFinder.canFindFor(theGivenClass)) {
+            val supplier = DependentSupplier.independent(()->knownNewNullValuesFinder.findNullValueOf(theGivenClass), provider);
+            return new SupplierPlan(supplier, SupplierPlan.FOUND);
+        }
+        
+        if (_isNotNull(this.provideFailureHandler))
+            return new SupplierPlan(()->handleLoadingFailure(theGivenClass), SupplierPlan.FALLBACK);
+        
+        if (isStackless && isAbstract(theGivenClass)) {
+            val failure = new AbstractClassCreationException(theGivenClass, true);
+            return new SupplierPlan(DependentSupplier.independent(()->{ throw failure; }, provider), SupplierPlan.FALLBACK);
+        }
         
-        return ()->handleLoadingFailure(theGivenClass);
+        return new SupplierPlan(DependentSupplier.independent(()->handleLoadingFailure(theGivenClass), provider), SupplierPlan.FALLBACK);
     }
     
     private <T> Object handleLoadingFailure(Class<T> theGivenClass) {
@@ -416,8 +1747,7 @@ public class DefaultProvider implements IProvideDefault, IFindSupplier {
         return value;
     }
     private <T> Object defaultHandling(Class<T> theGivenClass) {
-        if (theGivenClass.isInterface()
-         || Modifier.isAbstract(theGivenClass.getModifiers()))
+        if (isAbstract(theGivenClass))
             throw new AbstractClassCreationException(theGivenClass);
         
         return null;
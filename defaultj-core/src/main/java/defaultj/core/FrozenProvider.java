@@ -0,0 +1,297 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.ClassNotFrozenException;
+import defaultj.core.suppliers.ConstantSupplier;
+import defaultj.core.suppliers.Dependency;
+import lombok.val;
+
+/**
+ * A sealed provider with the supplier plans of a fixed set of classes -- made by {@link DefaultProvider#freeze(Class...)}.
+ * 
+ * All the classes reachable from the roots are resolved (and checked for cycle) when the provider is frozen.
+ * After that, the provider never consults the finders, the bindings or any mutable cache:
+ *   a class is dispatched to its supplier through an identity table built for exactly those classes.
+ * The dependencies of the frozen suppliers are obtained from the frozen provider as well
+ *   -- those asked for by a type key (such as a parameterized or a qualified type)
+ *   through the bindings as they were when the provider was frozen.
+ * A class that is not in the table fails fast with {@link ClassNotFrozenException}
+ *   or, if so chosen, is provided by the provider it is frozen from.
+ * A class whose supplier does not declare its dependencies (such as a factory binding or a custom finder)
+ *   or that depends on a type key bound to such a binding
+ *   cannot be frozen as what it needs is unknown -- it is left out of the table like a class that is not reachable.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+public final class FrozenProvider implements IProvideKeyedDefault {
+    
+    private static final int MAX_TABLE_GROWTH = 8;
+    
+    private final DefaultProvider fallback;
+    private final Bindings        bindings;
+    private final Class[]         classes;
+    private final SupplierPlan[]  plans;
+    private final boolean[]       providables;
+    private final int             mask;
+    private final boolean         isPerfect;
+    private final boolean         isStackless;
+    
+    FrozenProvider(DefaultProvider source, Class<?>[] roots, boolean fallbackToSource) {
+        val bindings  = source.bindings();
+        val resolveds = resolve(source, bindings, roots);
+        for (val entry : resolveds.entrySet()) {
+            CycleChecker.check(this, resolveds::get, entry.getKey(), entry.getValue(), source.isStackless());
+        }
+        
+        // Look for a table size where no two classes collide -- dispatching is then a single probe.
+        val count    = resolveds.size();
+        val minSize  = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        int size     = minSize;
+        int maxProbe = Integer.MAX_VALUE;
+        while ((maxProbe > 1) && (size <= minSize * MAX_TABLE_GROWTH)) {
+            maxProbe = maxProbeFor(resolveds, size);
+            if (maxProbe > 1)
+                size <<= 1;
+        }
+        if (maxProbe > 1)
+            size = minSize;
+        
+        this.fallback    = fallbackToSource ? source : null;
+        this.bindings    = bindings;
+        this.classes     = new Class[size];
+        this.plans       = new SupplierPlan[size];
+        this.providables = new boolean[size];
+        this.mask        = size - 1;
+        this.isPerfect   = (maxProbe <= 1);
+        this.isStackless = source.isStackless();
+        
+        val providabilities = new HashMap<Class, Boolean>();
+        for (val entry : resolveds.entrySet()) {
+            int index = indexOf(entry.getKey(), mask);
+            while (classes[index] != null)
+                index = (index + 1) & mask;
+            
+            classes    [index] = entry.getKey();
+            plans      [index] = entry.getValue();
+            providables[index] = isProvidable(entry.getKey(), resolveds, providabilities);
+        }
+    }
+    
+    /**
+     * Check if the default of the class can be provided -- its plan has no problem
+     *   and all its required dependencies are frozen (or provided by the fallback) and can be provided.
+     */
+    private boolean isProvidable(Class clzz, Map<Class, SupplierPlan> resolveds, Map<Class, Boolean> providabilities) {
+        val known = providabilities.get(clzz);
+        if (known != null)
+            return known;
+        
+        val plan = resolveds.get(clzz);
+        if (plan == null)
+            return (fallback != null) && fallback.canProvide(clzz);
+        
+        // Required cycles are rejected when frozen so an optimistic mark only shortcuts the soft ones.
+        providabilities.put(clzz, true);
+        boolean isProvidable = (plan.problem() == null)
+                            && !((plan.stage() == SupplierPlan.FALLBACK) && DefaultProvider.isAbstract(clzz));
+        for (val dependency : plan.dependencies()) {
+            if (!isProvidable)
+                break;
+            if (dependency.kind() == Dependency.Kind.REQUIRED)
+                isProvidable = isProvidable(dependency.type(), resolveds, providabilities);
+        }
+        providabilities.put(clzz, isProvidable);
+        return isProvidable;
+    }
+    
+    private Map<Class, SupplierPlan> resolve(DefaultProvider source, Bindings bindings, Class<?>[] roots) {
+        val resolveds = new LinkedHashMap<Class, SupplierPlan>();
+        val opaques   = new HashSet<Class>();
+        val rootList  = asList(roots);
+        val pendings  = new ArrayDeque<Class>(rootList);
+        while (!pendings.isEmpty()) {
+            val clzz = pendings.poll();
+            if (resolveds.containsKey(clzz) || opaques.contains(clzz))
+                continue;
+            
+            SupplierPlan plan;
+            try {
+                plan = source.newPlanFor(clzz, this);
+            } catch (RuntimeException | LinkageError e) {
+                if (rootList.contains(clzz))
+                    throw (e instanceof ProvideDefaultException) ? (ProvideDefaultException)e : DefaultProvider.failure(clzz, e, source.isStackless());
+                
+                // Leave the failure for when (if ever) the default is asked for -- like the dynamic provider.
+                plan = SupplierPlan.failing(clzz, e, source.isStackless());
+            }
+            if ((plan.problem() == null) && !plan.isTransparentTo(this)) {
+                opaques.add(clzz);
+                continue;
+            }
+            
+            val targets = new ArrayList<Class>();
+            boolean isFreezable = true;
+            for (val dependency : plan.dependencies()) {
+                if (isFreezable)
+                    isFreezable = bindings.addTargetsOf(dependency.typeKey(), targets);
+            }
+            if (!isFreezable) {
+                opaques.add(clzz);
+                continue;
+            }
+            resolveds.put(clzz, plan);
+            pendings.addAll(targets);
+        }
+        return resolveds;
+    }
+    
+    private static int indexOf(Class clzz, int mask) {
+        val hash = System.identityHashCode(clzz);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+    
+    private static int maxProbeFor(Map<Class, SupplierPlan> resolveds, int size) {
+        val mask     = size - 1;
+        val used     = new boolean[size];
+        int maxProbe = 0;
+        for (val clzz : resolveds.keySet()) {
+            int index = indexOf(clzz, mask);
+            int probe = 1;
+            while (used[index]) {
+                index = (index + 1) & mask;
+                probe++;
+            }
+            used[index] = true;
+            maxProbe = Math.max(maxProbe, probe);
+        }
+        return maxProbe;
+    }
+    
+    /**
+     * Check if the given class was frozen with this provider.
+     * 
+     * @param theGivenClass  the class.
+     * @return {@code true} if the class is dispatched by this provider.
+     */
+    public boolean isFrozen(Class<?> theGivenClass) {
+        return planOf(theGivenClass) != null;
+    }
+    
+    /** @return {@code true} if every class is dispatched with a single probe in the table. */
+    public boolean isPerfectlyHashed() {
+        return isPerfect;
+    }
+    
+    private SupplierPlan planOf(Class<?> theGivenClass) {
+        val index = slotOf(theGivenClass);
+        return (index != -1) ? plans[index] : null;
+    }
+    
+    private int slotOf(Class<?> theGivenClass) {
+        int index = indexOf(theGivenClass, mask);
+        while (true) {
+            val clzz = classes[index];
+            if (clzz == theGivenClass)
+                return index;
+            if (clzz == null)
+                return -1;
+            index = (index + 1) & mask;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+        val plan = planOf(theGivenClass);
+        if (plan == null) {
+            if (fallback != null)
+                return fallback.get(theGivenClass);
+            throw new ClassNotFrozenException(theGivenClass);
+        }
+        
+        if (plan.isKnownConstant()) {
+            val instance = ((ConstantSupplier)plan.supplier).knownValue();
+            return theGivenClass.isPrimitive() ? (TYPE)instance : theGivenClass.cast(instance);
+        }
+        if (plan.isVerified())
+            return DefaultProvider.create(theGivenClass, plan.supplier, isStackless);
+        
+        val context = ResolutionContext.current();
+        if (context == null) {
+            try (val rootContext = ResolutionContext.open(theGivenClass, isStackless)) {
+                return DefaultProvider.create(theGivenClass, plan.supplier, isStackless);
+            }
+        }
+        
+        context.enter(theGivenClass);
+        try {
+            return DefaultProvider.create(theGivenClass, plan.supplier, isStackless);
+        } finally {
+            context.exit();
+        }
+    }
+    
+    /**
+     * Returns the default for the given type key -- using the bindings as they were when the provider was frozen.
+     * 
+     * @param typeKey  the type key.
+     * @return  the default.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     * @see DefaultProvider#get(TypeKey)
+     */
+    @Override
+    public Object get(TypeKey typeKey) throws ProvideDefaultException {
+        return DefaultProvider.keyedDefaultOf(this, bindings, typeKey, isStackless);
+    }
+    
+    /**
+     * Check if the default for the given class can be provided.
+     * 
+     * A class not frozen can only be provided by the fallback provider (if any).
+     * A frozen class can be provided unless its resolution failed
+     *   or one of its required dependencies cannot be provided.
+     * 
+     * @param theGivenClass  the class.
+     * @return  {@code false} if getting the default is known to fail.
+     */
+    @Override
+    public boolean canProvide(Class<?> theGivenClass) {
+        val index = slotOf(theGivenClass);
+        if (index == -1)
+            return (fallback != null) && fallback.canProvide(theGivenClass);
+        
+        return providables[index];
+    }
+    
+}
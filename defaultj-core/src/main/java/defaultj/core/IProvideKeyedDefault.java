@@ -0,0 +1,64 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import defaultj.api.IProvideDefault;
+import defaultj.api.ProvideDefaultException;
+
+/**
+ * Classes implementing this interface can provide the default of a type key
+ *   -- such as a fully parameterized type or a qualified type -- and not only of a class.
+ * 
+ * All the providers of this library implement this interface.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public interface IProvideKeyedDefault extends IProvideDefault {
+    
+    /**
+     * Returns the default for the given type key.
+     * 
+     * @param typeKey  the type key.
+     * @return  the default.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     */
+    public Object get(TypeKey typeKey) throws ProvideDefaultException;
+    
+    /**
+     * Returns the default for the given type key from the given provider.
+     * 
+     * A provider that does not implement this interface only knows classes
+     *   so it is asked for the raw class of the key.
+     * 
+     * @param provider  the provider.
+     * @param typeKey   the type key.
+     * @return  the default.
+     * @throws ProvideDefaultException  if there is a problem getting the default.
+     */
+    public static Object getFrom(IProvideDefault provider, TypeKey typeKey) throws ProvideDefaultException {
+        if (typeKey.isPlainClass() || !(provider instanceof IProvideKeyedDefault))
+            return provider.get(typeKey.rawClass());
+        
+        return ((IProvideKeyedDefault)provider).get(typeKey);
+    }
+    
+}
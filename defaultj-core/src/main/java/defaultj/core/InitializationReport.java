@@ -0,0 +1,123 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.List;
+import java.util.Map;
+
+import defaultj.api.ProvideDefaultException;
+import lombok.val;
+
+/**
+ * The report of {@link DefaultProvider#initializeAll(java.util.Collection, int)}.
+ * 
+ * The classes are initialized layer by layer -- a class is only initialized after all its dependencies --
+ *   so the elapsed time approaches the time of the critical path (the chain of dependencies that takes the longest)
+ *   rather than the sum of the time of all the classes.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class InitializationReport {
+    
+    private final List<List<Class<?>>>                   layers;
+    private final Map<Class<?>, Long>                    durations;
+    private final Map<Class<?>, ProvideDefaultException> failures;
+    private final List<Class<?>>                         criticalPath;
+    private final long                                   criticalPathNanos;
+    private final long                                   elapsedNanos;
+    
+    InitializationReport(
+            List<List<Class<?>>>                   layers,
+            Map<Class<?>, Long>                    durations,
+            Map<Class<?>, ProvideDefaultException> failures,
+            List<Class<?>>                         criticalPath,
+            long                                   criticalPathNanos,
+            long                                   elapsedNanos) {
+        this.layers            = unmodifiableList(layers);
+        this.durations         = unmodifiableMap(durations);
+        this.failures          = unmodifiableMap(failures);
+        this.criticalPath      = unmodifiableList(criticalPath);
+        this.criticalPathNanos = criticalPathNanos;
+        this.elapsedNanos      = elapsedNanos;
+    }
+    
+    /** @return  the classes in the order of the layers they were initialized in -- dependencies first. */
+    public List<List<Class<?>>> layers() {
+        return layers;
+    }
+    
+    /** @return  the time (in nanoseconds) each class took to be initialized. */
+    public Map<Class<?>, Long> durations() {
+        return durations;
+    }
+    
+    /** @return  the failures by the classes that failed. */
+    public Map<Class<?>, ProvideDefaultException> failures() {
+        return failures;
+    }
+    
+    /** @return {@code true} if all the classes were initialized. */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+    
+    /** @return  the chain of dependencies that took the longest -- from the dependent to the last dependency. */
+    public List<Class<?>> criticalPath() {
+        return criticalPath;
+    }
+    
+    /** @return  the time (in nanoseconds) of the critical path. */
+    public long criticalPathNanos() {
+        return criticalPathNanos;
+    }
+    
+    /** @return  the time (in nanoseconds) the whole initialization took. */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /** @return  the sum of the time (in nanoseconds) of all the classes -- the time if initialized one by one. */
+    public long totalNanos() {
+        long total = 0;
+        for (val duration : durations.values()) {
+            total += duration;
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        return "InitializationReport["
+                + "classes="       + durations.size() + ", "
+                + "layers="        + layers.size() + ", "
+                + "failures="      + failures.keySet() + ", "
+                + "criticalPath="  + criticalPath + ", "
+                + "criticalNanos=" + criticalPathNanos + ", "
+                + "elapsedNanos="  + elapsedNanos + ", "
+                + "totalNanos="    + totalNanos()
+                + "]";
+    }
+    
+}
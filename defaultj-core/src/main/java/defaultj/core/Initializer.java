@@ -0,0 +1,293 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.suppliers.Dependency;
+import defaultj.core.suppliers.DependentSupplier;
+import lombok.val;
+
+/**
+ * Initializes the defaults of classes and all their dependencies in topological layers.
+ * 
+ * The dependency graph is taken from the supplier plans.
+ * The classes in a layer only depend on the classes in the layers before it
+ *   so the classes of a layer are initialized in parallel once the layers before it are done.
+ * Deferred dependencies (suppliers) are not followed as they are not asked for when the default is created.
+ * The edges closing a (legitimate) cycle are ignored for the layering.
+ * The defaults initialized in the earlier layers are given (each once) to the classes depending on them
+ *   -- like {@link DefaultProvider#getAsync(Class)} does -- so they are not created again
+ *   and the time of a class is only of its own creation.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class Initializer {
+    
+    private final DefaultProvider provider;
+    private final int             parallelism;
+    
+    private static final Object NULL = new Object();
+    
+    private final Map<Class, List<Class>>                dependencies = new LinkedHashMap<Class, List<Class>>();
+    private final Map<Class, SupplierPlan>               plans        = new HashMap<Class, SupplierPlan>();
+    private final Map<Class, Object>                     initializeds = new ConcurrentHashMap<Class, Object>();
+    private final Map<Class, Integer>                    levels       = new HashMap<Class, Integer>();
+    private final Map<Class<?>, Long>                    durations    = new ConcurrentHashMap<Class<?>, Long>();
+    private final Map<Class<?>, ProvideDefaultException> failures     = new ConcurrentHashMap<Class<?>, ProvideDefaultException>();
+    
+    Initializer(DefaultProvider provider, int parallelism) {
+        this.provider    = provider;
+        this.parallelism = Math.max(1, parallelism);
+    }
+    
+    InitializationReport initialize(Collection<Class<?>> roots) {
+        val startTime = System.nanoTime();
+        
+        collect(roots);
+        val layers = layers();
+        if (parallelism == 1)
+            runInThisThread(layers);
+        else
+            runInParallel(layers);
+        
+        val elapsedNanos = System.nanoTime() - startTime;
+        return report(layers, elapsedNanos);
+    }
+    
+    private void collect(Collection<Class<?>> roots) {
+        val pendings = new ArrayDeque<Class>(roots);
+        while (!pendings.isEmpty()) {
+            val clzz = pendings.poll();
+            if (dependencies.containsKey(clzz))
+                continue;
+            
+            SupplierPlan plan;
+            try {
+                plan = provider.checkedPlanFor(clzz);
+            } catch (ProvideDefaultException e) {
+                failures.put(clzz, e);
+                dependencies.put(clzz, emptyList());
+                continue;
+            }
+            plans.put(clzz, plan);
+            
+            val dependencyTypes = new ArrayList<Class>();
+            if (plan.isTransparentTo(provider)) {
+                for (val dependency : plan.dependencies()) {
+                    val type = dependency.type();
+                    if ((dependency.kind() != Dependency.Kind.DEFERRED) && !dependencyTypes.contains(type))
+                        dependencyTypes.add(type);
+                }
+            }
+            dependencies.put(clzz, dependencyTypes);
+            pendings.addAll(dependencyTypes);
+        }
+    }
+    
+    private List<List<Class<?>>> layers() {
+        val visitings = new HashSet<Class>();
+        for (val clzz : dependencies.keySet()) {
+            levelOf(clzz, visitings);
+        }
+        
+        val layers = new ArrayList<List<Class<?>>>();
+        for (val clzz : dependencies.keySet()) {
+            int level = levels.get(clzz);
+            while (layers.size() <= level)
+                layers.add(new ArrayList<Class<?>>());
+            layers.get(level).add(clzz);
+        }
+        return layers;
+    }
+    
+    private int levelOf(Class clzz, Set<Class> visitings) {
+        val known = levels.get(clzz);
+        if (known != null)
+            return known;
+        // The edge closes a cycle -- ignored.
+        if (!visitings.add(clzz))
+            return -1;
+        
+        int level = 0;
+        for (val dependency : dependencies.get(clzz)) {
+            level = Math.max(level, levelOf(dependency, visitings) + 1);
+        }
+        visitings.remove(clzz);
+        levels.put(clzz, level);
+        return level;
+    }
+    
+    private void runInThisThread(List<List<Class<?>>> layers) {
+        for (val layer : layers) {
+            for (val clzz : layer) {
+                initialize(clzz);
+            }
+        }
+    }
+    
+    private void runInParallel(List<List<Class<?>>> layers) {
+        val executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            val thread = new Thread(runnable, "defaultj-initializer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < layers.size(); i++) {
+                val tasks = new ArrayList<Callable<Object>>();
+                for (val clzz : layers.get(i)) {
+                    tasks.add(Executors.callable(()->initialize(clzz)));
+                }
+                try {
+                    executor.invokeAll(tasks);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failRemaining(layers, i, e);
+                    return;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private void failRemaining(List<List<Class<?>>> layers, int fromLayer, InterruptedException problem) {
+        for (int i = fromLayer; i < layers.size(); i++) {
+            for (val clzz : layers.get(i)) {
+                if (!durations.containsKey(clzz) && !failures.containsKey(clzz))
+                    failures.put(clzz, new ProvideDefaultException(clzz, problem));
+            }
+        }
+    }
+    
+    private void initialize(Class<?> clzz) {
+        // The plan already failed.
+        if (failures.containsKey(clzz))
+            return;
+        
+        val startTime = System.nanoTime();
+        try {
+            val value = create(clzz);
+            initializeds.put(clzz, (value != null) ? value : NULL);
+        } catch (ProvideDefaultException e) {
+            failures.put(clzz, e);
+        } finally {
+            durations.put(clzz, System.nanoTime() - startTime);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Object create(Class<?> clzz) {
+        val plan = plans.get(clzz);
+        if (!plan.isVerified()
+         || !plan.isTransparentTo(provider)
+         || !(plan.supplier instanceof DependentSupplier)
+         || !((DependentSupplier)plan.supplier).isRebindable())
+            return provider.get(clzz);
+        
+        val supplier = ((DependentSupplier)plan.supplier).supplierWith(new InitializedProvider());
+        return DefaultProvider.create(clzz, supplier, provider.isStackless());
+    }
+    
+    /**
+     * A provider that gives the defaults initialized in the earlier layers -- each once -- and gets the rest from the provider.
+     */
+    private final class InitializedProvider implements IProvideKeyedDefault {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+            val initialized = initializeds.remove(theGivenClass);
+            if (initialized != null)
+                return (initialized != NULL) ? (TYPE)initialized : null;
+            
+            return provider.get(theGivenClass);
+        }
+        
+        // Only the classes are initialized ahead.
+        @Override
+        public Object get(TypeKey typeKey) throws ProvideDefaultException {
+            return typeKey.isPlainClass() ? get(typeKey.rawClass()) : provider.get(typeKey);
+        }
+    }
+    
+    private InitializationReport report(List<List<Class<?>>> layers, long elapsedNanos) {
+        // The longest chain ending at each class -- the layers are in the order of the dependencies.
+        val costs = new HashMap<Class, Long>();
+        val nexts = new HashMap<Class, Class>();
+        Class last     = null;
+        long  lastCost = -1;
+        for (val layer : layers) {
+            for (val clzz : layer) {
+                long  cost = 0;
+                Class next = null;
+                for (val dependency : dependencies.get(clzz)) {
+                    val dependencyCost = costs.get(dependency);
+                    if ((dependencyCost != null) && (dependencyCost > cost)) {
+                        cost = dependencyCost;
+                        next = dependency;
+                    }
+                }
+                cost += durations.getOrDefault(clzz, 0L);
+                costs.put(clzz, cost);
+                nexts.put(clzz, next);
+                if (cost > lastCost) {
+                    last     = clzz;
+                    lastCost = cost;
+                }
+            }
+        }
+        
+        val criticalPath = new ArrayList<Class<?>>();
+        for (Class clzz = last; clzz != null; clzz = nexts.get(clzz)) {
+            criticalPath.add(clzz);
+        }
+        
+        val orderedDurations = new LinkedHashMap<Class<?>, Long>();
+        val orderedFailures  = new LinkedHashMap<Class<?>, ProvideDefaultException>();
+        for (val layer : layers) {
+            for (val clzz : layer) {
+                if (durations.containsKey(clzz))
+                    orderedDurations.put(clzz, durations.get(clzz));
+                if (failures.containsKey(clzz))
+                    orderedFailures.put(clzz, failures.get(clzz));
+            }
+        }
+        return new InitializationReport(layers, orderedDurations, orderedFailures, criticalPath, Math.max(0, lastCost), elapsedNanos);
+    }
+    
+}
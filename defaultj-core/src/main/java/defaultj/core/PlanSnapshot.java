@@ -0,0 +1,386 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.strategies.ConstructorSupplierFinder;
+import defaultj.core.utils.InjectionPlan;
+import defaultj.core.utils.PostConstructUtils;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+/**
+ * A persisted snapshot of the supplier plans found by the constructor strategy
+ *   -- so a restarted provider can rebuild the suppliers without running the finder chain.
+ * 
+ * For each class, the snapshot keeps the hash of the class files of its hierarchy, the signature of the constructor,
+ *   the classified parameter slots and the post-construct methods.
+ * The hierarchy is the class with its super classes and interfaces (outside the platform)
+ *   as the post-construct methods are also from them.
+ * An entry is only used when the class files still have the same hash
+ *   and the whole snapshot is only used when it is intact (CRC32), of this version
+ *   and made by a provider with the same finders (the configuration fingerprint).
+ * Anything else falls back to the finder chain.
+ * 
+ * The file (big-endian) is:
+ *   magic, version, fingerprint, entry count, the entries then the CRC32 of everything before it.
+ * The strings are the length followed by the UTF-8 bytes.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class PlanSnapshot {
+    
+    static final int   MAGIC   = 0x444A5053;
+    static final short VERSION = 2;
+    
+    private static final long NO_HASH = -1;
+    
+    private static final InjectionPlan.Kind[] kinds = InjectionPlan.Kind.values();
+    
+    private static final Map<String, Class<?>> primitives = new HashMap<String, Class<?>>();
+    static {
+        for (val type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class, void.class }) {
+            primitives.put(type.getName(), type);
+        }
+    }
+    
+    private static final class Entry {
+        long      classHash;
+        String[]  parameterTypes;
+        byte[]    slotKinds;
+        String[]  slotTypes;
+        boolean[] nullOnFailures;
+        String[]  postConstructClasses;
+        String[]  postConstructMethods;
+    }
+    
+    private final ConstructorSupplierFinder finder;
+    private final Map<String, Entry>        entries;
+    
+    private PlanSnapshot(ConstructorSupplierFinder finder, Map<String, Entry> entries) {
+        this.finder  = finder;
+        this.entries = entries;
+    }
+    
+    /** @return  the number of the classes in this snapshot. */
+    int size() {
+        return entries.size();
+    }
+    
+    /** @return  the finder the suppliers are rebuilt with. */
+    ConstructorSupplierFinder finder() {
+        return finder;
+    }
+    
+    // == Write ==
+    
+    /**
+     * Write the snapshot of the given classes.
+     * 
+     * @param file         the file.
+     * @param fingerprint  the configuration fingerprint of the provider.
+     * @param finder       the constructor finder.
+     * @param classes      the classes whose plans were found by the constructor finder.
+     * @return  the number of the classes written -- the classes without a class file are skipped.
+     * @throws IOException  if the file cannot be written.
+     */
+    static int write(Path file, long fingerprint, ConstructorSupplierFinder finder, Collection<Class> classes) throws IOException {
+        val entryBytes = new ByteArrayOutputStream();
+        val entryData  = new DataOutputStream(entryBytes);
+        int count      = 0;
+        for (val clzz : classes) {
+            if (writeEntry(entryData, finder, clzz))
+                count++;
+        }
+        entryData.flush();
+        
+        val bytes = new ByteArrayOutputStream();
+        val data  = new DataOutputStream(bytes);
+        data.writeInt  (MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong (fingerprint);
+        data.writeInt  (count);
+        data.write     (entryBytes.toByteArray());
+        data.flush();
+        
+        val crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeInt((int)crc.getValue());
+        data.flush();
+        
+        WarmUpProfile.replace(file, bytes.toByteArray());
+        return count;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static boolean writeEntry(DataOutputStream data, ConstructorSupplierFinder finder, Class clzz) throws IOException {
+        val classHash = hierarchyHashOf(clzz);
+        if (classHash == NO_HASH)
+            return false;
+        
+        Constructor constructor;
+        try {
+            constructor = finder.constructorOf(clzz);
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+        if (constructor == null)
+            return false;
+        
+        val parameterTypes = constructor.getParameterTypes();
+        val slots          = InjectionPlan.of(constructor).slots();
+        val postConstructs = PostConstructUtils.postConstructMethodsOf(clzz);
+        
+        // Only the raw class of a slot is recorded.
+        for (val slot : slots) {
+            if (!slot.typeKey().isPlainClass())
+                return false;
+        }
+        
+        writeString(data, clzz.getName());
+        data.writeLong(classHash);
+        data.writeInt(parameterTypes.length);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            val slot = slots.get(i);
+            writeString(data, parameterTypes[i].getName());
+            data.writeByte(slot.kind().ordinal());
+            writeString(data, slot.type().getName());
+            data.writeBoolean(slot.nullOnFailure());
+        }
+        data.writeInt(postConstructs.size());
+        for (val method : postConstructs) {
+            writeString(data, method.getDeclaringClass().getName());
+            writeString(data, method.getName());
+        }
+        return true;
+    }
+    
+    private static void writeString(DataOutputStream data, String string) throws IOException {
+        val bytes = string.getBytes(UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+    
+    // == Load ==
+    
+    /**
+     * Load the snapshot from the file -- mapped to memory.
+     * 
+     * @param file         the file.
+     * @param fingerprint  the configuration fingerprint of the provider.
+     * @param finder       the constructor finder to rebuild the suppliers with.
+     * @return  the snapshot or {@code null} if there is no file or the file is not an intact snapshot
+     *            of this version for this configuration.
+     * @throws IOException  if the file cannot be read.
+     */
+    static PlanSnapshot load(Path file, long fingerprint, ConstructorSupplierFinder finder) throws IOException {
+        if (!Files.exists(file))
+            return null;
+        
+        try (val channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            val size = channel.size();
+            if ((size < 4 + 2 + 8 + 4 + 4) || (size > Integer.MAX_VALUE))
+                return null;
+            
+            // Limited through Buffer so the code also links on Java 8.
+            val buffer  = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            val content = buffer.duplicate();
+            ((Buffer)content).limit((int)size - 4);
+            val crc = new CRC32();
+            crc.update(content);
+            if ((int)crc.getValue() != buffer.getInt((int)size - 4))
+                return null;
+            
+            ((Buffer)buffer).limit((int)size - 4);
+            if ((buffer.getInt() != MAGIC) || (buffer.getShort() != VERSION) || (buffer.getLong() != fingerprint))
+                return null;
+            
+            val count   = buffer.getInt();
+            val entries = new HashMap<String, Entry>(count * 2);
+            for (int i = 0; i < count; i++) {
+                val className = readString(buffer);
+                entries.put(className, readEntry(buffer));
+            }
+            return new PlanSnapshot(finder, entries);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static Entry readEntry(ByteBuffer buffer) {
+        val entry = new Entry();
+        entry.classHash = buffer.getLong();
+        
+        val parameterCount = buffer.getInt();
+        entry.parameterTypes = new String[parameterCount];
+        entry.slotKinds      = new byte[parameterCount];
+        entry.slotTypes      = new String[parameterCount];
+        entry.nullOnFailures = new boolean[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            entry.parameterTypes[i] = readString(buffer);
+            entry.slotKinds[i]      = buffer.get();
+            entry.slotTypes[i]      = readString(buffer);
+            entry.nullOnFailures[i] = (buffer.get() != 0);
+        }
+        
+        val postConstructCount = buffer.getInt();
+        entry.postConstructClasses = new String[postConstructCount];
+        entry.postConstructMethods = new String[postConstructCount];
+        for (int i = 0; i < postConstructCount; i++) {
+            entry.postConstructClasses[i] = readString(buffer);
+            entry.postConstructMethods[i] = readString(buffer);
+        }
+        return entry;
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        val bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+    
+    // == Rebuild ==
+    
+    /**
+     * Rebuild the supplier of the given class from this snapshot.
+     * 
+     * @param theGivenClass    the class.
+     * @param parentProvider   the provider to get the parameters from.
+     * @return  the supplier or {@code null} if the class is not in the snapshot or was changed since.
+     */
+    @SuppressWarnings("unchecked")
+    Supplier supplierFor(Class theGivenClass, IProvideDefault parentProvider) {
+        val entry = entries.get(theGivenClass.getName());
+        if ((entry == null) || (entry.classHash != hierarchyHashOf(theGivenClass)))
+            return null;
+        
+        try {
+            val classLoader    = theGivenClass.getClassLoader();
+            val parameterCount = entry.parameterTypes.length;
+            val parameterTypes = new Class<?>[parameterCount];
+            val slots          = new ArrayList<InjectionPlan.Slot>(parameterCount);
+            for (int i = 0; i < parameterCount; i++) {
+                parameterTypes[i] = classOf(entry.parameterTypes[i], classLoader);
+                slots.add(InjectionPlan.Slot.of(kinds[entry.slotKinds[i]], classOf(entry.slotTypes[i], classLoader), entry.nullOnFailures[i]));
+            }
+            val constructor = theGivenClass.getConstructor(parameterTypes);
+            
+            val postConstructs = new ArrayList<Method>(entry.postConstructMethods.length);
+            for (int i = 0; i < entry.postConstructMethods.length; i++) {
+                val declaringClass = classOf(entry.postConstructClasses[i], classLoader);
+                postConstructs.add(declaringClass.getDeclaredMethod(entry.postConstructMethods[i]));
+            }
+            PostConstructUtils.presetPostConstructMethods(theGivenClass, postConstructs);
+            
+            return finder.supplierFor(constructor, InjectionPlan.of(slots), parentProvider);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    private static Class<?> classOf(String name, ClassLoader classLoader) throws ClassNotFoundException {
+        val primitive = primitives.get(name);
+        return (primitive != null) ? primitive : Class.forName(name, false, classLoader);
+    }
+    
+    /**
+     * Returns the hash of the class file of the given class.
+     * 
+     * @param clzz  the class.
+     * @return  the hash or {@code -1} if the class file cannot be read.
+     */
+    static long classFileHashOf(Class<?> clzz) {
+        val crc = new CRC32();
+        return updateWithClassFile(crc, clzz) ? crc.getValue() : NO_HASH;
+    }
+    
+    /**
+     * Returns the hash of the class files of the given class and its super classes and interfaces
+     *   -- except the classes of the platform.
+     * 
+     * @param clzz  the class.
+     * @return  the hash or {@code -1} if a class file cannot be read.
+     */
+    static long hierarchyHashOf(Class<?> clzz) {
+        val crc = new CRC32();
+        return updateWithHierarchy(crc, clzz, new HashSet<Class<?>>()) ? crc.getValue() : NO_HASH;
+    }
+    
+    private static boolean updateWithHierarchy(CRC32 crc, Class<?> clzz, Set<Class<?>> visiteds) {
+        if ((clzz == null) || (clzz.getClassLoader() == null) || !visiteds.add(clzz))
+            return true;
+        
+        if (!updateWithClassFile(crc, clzz)
+         || !updateWithHierarchy(crc, clzz.getSuperclass(), visiteds))
+            return false;
+        
+        for (val anInterface : clzz.getInterfaces()) {
+            if (!updateWithHierarchy(crc, anInterface, visiteds))
+                return false;
+        }
+        return true;
+    }
+    
+    private static boolean updateWithClassFile(CRC32 crc, Class<?> clzz) {
+        val name     = clzz.getName();
+        val resource = name.substring(name.lastIndexOf('.') + 1) + ".class";
+        try (InputStream input = clzz.getResourceAsStream(resource)) {
+            if (input == null)
+                return false;
+            
+            val buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                crc.update(buffer, 0, length);
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+}
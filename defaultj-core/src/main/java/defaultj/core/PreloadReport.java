@@ -0,0 +1,98 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Map;
+
+import lombok.val;
+
+/**
+ * The report of {@link DefaultProvider#preload(Class...)}.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class PreloadReport {
+    
+    private final Map<Class<?>, Long>      durations;
+    private final Map<Class<?>, Throwable> problems;
+    private final long                     resolvedCount;
+    private final long                     elapsedNanos;
+    
+    PreloadReport(
+            Map<Class<?>, Long>      durations,
+            Map<Class<?>, Throwable> problems,
+            long                     resolvedCount,
+            long                     elapsedNanos) {
+        this.durations     = unmodifiableMap(durations);
+        this.problems      = unmodifiableMap(problems);
+        this.resolvedCount = resolvedCount;
+        this.elapsedNanos  = elapsedNanos;
+    }
+    
+    /** @return  the number of classes whose plans were walked. */
+    public int classCount() {
+        return durations.size();
+    }
+    
+    /** @return  the time (in nanoseconds) the plan of each class took to be obtained. */
+    public Map<Class<?>, Long> durations() {
+        return durations;
+    }
+    
+    /** @return  the problems found -- by the classes whose defaults are known to fail. */
+    public Map<Class<?>, Throwable> problems() {
+        return problems;
+    }
+    
+    /** @return  the number of plans newly resolved by the provider while preloading -- the rest were already cached. */
+    public long resolvedCount() {
+        return resolvedCount;
+    }
+    
+    /** @return  the time (in nanoseconds) the whole preload took. */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /** @return  the sum of the time (in nanoseconds) of all the classes. */
+    public long totalNanos() {
+        long total = 0;
+        for (val duration : durations.values()) {
+            total += duration;
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        return "PreloadReport["
+                + "classes="      + durations.size() + ", "
+                + "resolved="     + resolvedCount + ", "
+                + "problems="     + problems.keySet() + ", "
+                + "elapsedNanos=" + elapsedNanos + ", "
+                + "totalNanos="   + totalNanos()
+                + "]";
+    }
+    
+}
@@ -0,0 +1,183 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import defaultj.api.ProvideDefaultException;
+import lombok.val;
+
+/**
+ * Resolves the supplier plans of classes and all the classes they depend on -- without creating any default.
+ * 
+ * Each class is resolved as its own task on the executor (if given)
+ *   and the classes it depends on are submitted once its plan is known.
+ * A dependency on a type key (such as a parameterized or a qualified type) is followed to the class its binding gives.
+ * Once all the plans are cached, the roots are checked for cycles so their plans are verified (or tracked) too.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class Preloader {
+    
+    private static final List<Class> noDependencies = emptyList();
+    
+    private final DefaultProvider provider;
+    private final Executor        executor;
+    
+    private final Map<Class<?>, Long> durations = new ConcurrentHashMap<Class<?>, Long>();
+    private final Map<Class, Boolean> submitted = new ConcurrentHashMap<Class, Boolean>();
+    
+    private final AtomicInteger             pendingCount = new AtomicInteger();
+    private final CompletableFuture<Object> done         = new CompletableFuture<Object>();
+    
+    Preloader(DefaultProvider provider, Executor executor) {
+        this.provider = provider;
+        this.executor = executor;
+    }
+    
+    PreloadReport preload(Class<?>[] roots) {
+        if (executor != null)
+            return await(preloadAsync(roots));
+        
+        val startTime     = System.nanoTime();
+        val startResolved = provider.resolutionCount();
+        for (val root : roots) {
+            walk(root);
+        }
+        return report(roots, startTime, startResolved);
+    }
+    
+    /** Preload on the executor -- the returned future completes (on the executor) once everything is preloaded. */
+    CompletableFuture<PreloadReport> preloadAsync(Class<?>[] roots) {
+        val startTime     = System.nanoTime();
+        val startResolved = provider.resolutionCount();
+        
+        pendingCount.incrementAndGet();
+        for (val root : roots) {
+            submit(root);
+        }
+        finish();
+        
+        return done.thenApply(ignored -> report(roots, startTime, startResolved));
+    }
+    
+    private PreloadReport report(Class<?>[] roots, long startTime, long startResolved) {
+        val problems = new LinkedHashMap<Class<?>, Throwable>();
+        for (val root : roots) {
+            try {
+                provider.checkedPlanFor(root);
+            } catch (ProvideDefaultException e) {
+                // Recorded with the plan -- reported below.
+            }
+        }
+        for (val clzz : durations.keySet()) {
+            val plan = provider.planFor(clzz);
+            if (plan.problem() != null)
+                problems.put(clzz, plan.problem());
+        }
+        
+        val resolvedCount = provider.resolutionCount() - startResolved;
+        val elapsedNanos  = System.nanoTime() - startTime;
+        return new PreloadReport(new LinkedHashMap<Class<?>, Long>(durations), problems, resolvedCount, elapsedNanos);
+    }
+    
+    private void walk(Class clzz) {
+        if (submitted.putIfAbsent(clzz, Boolean.TRUE) != null)
+            return;
+        
+        for (val dependency : resolve(clzz)) {
+            walk(dependency);
+        }
+    }
+    
+    private void submit(Class clzz) {
+        if (submitted.putIfAbsent(clzz, Boolean.TRUE) != null)
+            return;
+        
+        pendingCount.incrementAndGet();
+        try {
+            executor.execute(()->{
+                try {
+                    for (val dependency : resolve(clzz)) {
+                        submit(dependency);
+                    }
+                } catch (RuntimeException | Error e) {
+                    done.completeExceptionally(e);
+                } finally {
+                    finish();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected by the executor.
+            finish();
+            done.completeExceptionally(e);
+        }
+    }
+    
+    private void finish() {
+        if (pendingCount.decrementAndGet() == 0)
+            done.complete(null);
+    }
+    
+    private static PreloadReport await(CompletableFuture<PreloadReport> report) {
+        try {
+            return report.join();
+        } catch (CompletionException e) {
+            val cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if (cause instanceof Error)
+                throw (Error)cause;
+            throw e;
+        }
+    }
+    
+    /** Resolve the plan of the class and return the classes to walk next. */
+    private List<Class> resolve(Class clzz) {
+        val startTime = System.nanoTime();
+        val plan      = provider.planFor(clzz);
+        durations.put(clzz, System.nanoTime() - startTime);
+        
+        // The dependencies of other providers are not this provider's to preload.
+        if (!plan.isTransparentTo(provider))
+            return noDependencies;
+        
+        val bindings = provider.bindings();
+        val targets  = new ArrayList<Class>();
+        for (val dependency : plan.dependencies()) {
+            bindings.addTargetsOf(dependency.typeKey(), targets);
+        }
+        return targets;
+    }
+    
+}
@@ -0,0 +1,142 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+/**
+ * The classes whose defaults are being created by the current thread -- used to detect cyclic dependency
+ *   at runtime for the plans that cannot be verified ahead.
+ * 
+ * A context only exists while a default is being created:
+ *   it is opened by the outermost tracked creation and removed from the thread once that creation is done.
+ * This way, threads (including the many short-lived virtual threads) that are not creating anything
+ *   hold no state, and there is no monitor involved so no carrier thread is ever pinned.
+ * The classes are kept in a small array as the nesting is shallow and it gives the cycle path for free.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class ResolutionContext implements AutoCloseable {
+    
+    private static final ThreadLocal<ResolutionContext> contexts = new ThreadLocal<ResolutionContext>();
+    
+    private final boolean isStackless;
+    
+    private Class[] classes = new Class[8];
+    private int     size    = 0;
+    
+    private ResolutionContext(boolean isStackless) {
+        this.isStackless = isStackless;
+    }
+    
+    /** @return  the context of the current thread or {@code null} if the thread is not creating any default. */
+    static ResolutionContext current() {
+        return contexts.get();
+    }
+    
+    /**
+     * Open a new context for the current thread with the given class being created.
+     * 
+     * @param theGivenClass  the class.
+     * @param isStackless    {@code true} if the cycles found in this context are reported without stack trace.
+     * @return  the context.
+     */
+    static ResolutionContext open(Class theGivenClass, boolean isStackless) {
+        val context = new ResolutionContext(isStackless);
+        context.enter(theGivenClass);
+        contexts.set(context);
+        return context;
+    }
+    
+    /**
+     * Open a new context for the current thread with no class being created yet -- for creating many defaults.
+     * 
+     * @param isStackless  {@code true} if the cycles found in this context are reported without stack trace.
+     * @return  the context.
+     */
+    static ResolutionContext open(boolean isStackless) {
+        val context = new ResolutionContext(isStackless);
+        contexts.set(context);
+        return context;
+    }
+    
+    /**
+     * Check that the class is not already being created by the current thread.
+     * 
+     * @param theGivenClass  the class.
+     * @throws CyclicDependencyDetectedException  if the class is being created.
+     */
+    static void ensureNotBeingCreated(Class theGivenClass) {
+        val context = current();
+        if (context != null)
+            context.ensureNotIn(theGivenClass);
+    }
+    
+    /**
+     * Mark that the class is being created.
+     * 
+     * @param theGivenClass  the class.
+     * @throws CyclicDependencyDetectedException  if the class is already being created.
+     */
+    void enter(Class theGivenClass) {
+        ensureNotIn(theGivenClass);
+        
+        if (size == classes.length)
+            classes = Arrays.copyOf(classes, size*2);
+        
+        classes[size++] = theGivenClass;
+    }
+    
+    /** Mark that the class last entered is done. */
+    void exit() {
+        classes[--size] = null;
+    }
+    
+    /** Remove this context from the current thread. */
+    @Override
+    public void close() {
+        contexts.remove();
+    }
+    
+    private void ensureNotIn(Class theGivenClass) {
+        for (int i = 0; i < size; i++) {
+            if (classes[i] == theGivenClass)
+                throw new CyclicDependencyDetectedException(theGivenClass, cyclePathFrom(i), isStackless);
+        }
+    }
+    
+    private List<Class<?>> cyclePathFrom(int index) {
+        val cyclePath = new ArrayList<Class<?>>(size - index + 1);
+        for (int i = index; i < size; i++) {
+            cyclePath.add(classes[i]);
+        }
+        cyclePath.add(classes[index]);
+        return cyclePath;
+    }
+    
+}
@@ -0,0 +1,228 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+import defaultj.api.IProvideDefault;
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.NoActiveScopeException;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+/**
+ * A lightweight child provider with a few instances bound on top of a {@link DefaultProvider} --
+ *   such as the user, the locale or the transaction of a request.
+ * 
+ * A scope only holds its bound instances.
+ * Everything else is provided by a provider shared by all the scopes of the same parent binding the same classes
+ *   (the same "shape"). That shared provider inherits the plans of the parent that do not depend on the bound classes
+ *   and keeps the plans that do, so creating and discarding a scope costs next to nothing
+ *   and the defaults depending on the bound instances are not resolved again for each scope.
+ * 
+ * The bound instances are only visible while {@link #get(Class)} of the scope runs.
+ * A {@link IProvideDefault} obtained from the scope is the scope itself
+ *   and a supplier (or a handle) created in the scope keeps using the scope it was created in
+ *   -- even when called after the scope is done or while another scope is in action.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class ScopedProvider implements IProvideKeyedDefault {
+    
+    private static final ThreadLocal<ScopedProvider> currentScopes = new ThreadLocal<ScopedProvider>();
+    
+    private final DefaultProvider shapeProvider;
+    private final Class<?>[]      classes;
+    private final Object[]        instances;
+    
+    ScopedProvider(DefaultProvider shapeProvider, Class<?>[] classes, Object[] instances) {
+        this.shapeProvider = shapeProvider;
+        this.classes       = classes;
+        this.instances     = instances;
+    }
+    
+    /** @return  the provider shared by the scopes of the same shape. */
+    DefaultProvider shapeProvider() {
+        return shapeProvider;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public <TYPE> TYPE get(Class<TYPE> theGivenClass) throws ProvideDefaultException {
+        for (int i = 0; i < classes.length; i++) {
+            if (classes[i] == theGivenClass)
+                return (TYPE)instances[i];
+        }
+        
+        val previous = enter();
+        try {
+            return shapeProvider.get(theGivenClass);
+        } finally {
+            exit(previous);
+        }
+    }
+    
+    @Override
+    public Object get(TypeKey typeKey) throws ProvideDefaultException {
+        if (typeKey.isPlainClass())
+            return get(typeKey.rawClass());
+        
+        val previous = enter();
+        try {
+            return shapeProvider.get(typeKey);
+        } finally {
+            exit(previous);
+        }
+    }
+    
+    /**
+     * Returns the provider a supplier created now should get its default from later.
+     * 
+     * If a scope sharing the given provider is in action, the supplier must keep using that scope
+     *   so the scope is returned. Otherwise, the given provider is returned.
+     * 
+     * @param provider  the provider the supplier was to use.
+     * @return  the provider to use.
+     */
+    public static IProvideDefault inScope(IProvideDefault provider) {
+        val scope = currentScopeOf(provider);
+        return (scope != null) ? scope : provider;
+    }
+    
+    /** @return  the scope in action if it shares the given provider -- or {@code null}. */
+    static ScopedProvider currentScopeOf(IProvideDefault provider) {
+        val scope = currentScopes.get();
+        return ((scope != null) && (scope.shapeProvider == provider)) ? scope : null;
+    }
+    
+    /**
+     * Returns the supplier that runs the given supplier in this scope.
+     * 
+     * @param supplier  the supplier.
+     * @return  the supplier bound to this scope.
+     */
+    <TYPE> Supplier<TYPE, ? extends Throwable> bound(Supplier<TYPE, ? extends Throwable> supplier) {
+        return () -> {
+            val previous = enter();
+            try {
+                return supplier.get();
+            } finally {
+                exit(previous);
+            }
+        };
+    }
+    
+    private ScopedProvider enter() {
+        val previous = currentScopes.get();
+        currentScopes.set(this);
+        return previous;
+    }
+    
+    private static void exit(ScopedProvider previous) {
+        if (previous == null)
+            currentScopes.remove();
+        else
+            currentScopes.set(previous);
+    }
+    
+    /**
+     * Binding of a class bound by the scopes of a shape -- gives the instance of the scope in action.
+     */
+    static final class ScopeBinding<TYPE> implements IBind<TYPE> {
+        
+        private final Class<TYPE> boundClass;
+        private final int         index;
+        
+        ScopeBinding(Class<TYPE> boundClass, int index) {
+            this.boundClass = boundClass;
+            this.index      = index;
+        }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public TYPE get(IProvideDefault defaultProvider) {
+            val scope = currentScopes.get();
+            if (scope == null)
+                throw new NoActiveScopeException(boundClass);
+            
+            return (TYPE)((index == -1) ? scope : scope.instances[index]);
+        }
+    }
+    
+    /**
+     * Builder of a scope.
+     */
+    public static final class Builder {
+        
+        private final DefaultProvider parent;
+        
+        private Class<?>[] classes   = new Class<?>[4];
+        private Object[]   instances = new Object[4];
+        private int        size      = 0;
+        
+        Builder(DefaultProvider parent) {
+            this.parent = parent;
+        }
+        
+        /**
+         * Bind the class to the instance in the scope.
+         * 
+         * @param <TYPE>    the type of the class.
+         * @param clzz      the class.
+         * @param instance  the instance.
+         * @return  this builder.
+         */
+        public <TYPE> Builder bind(Class<TYPE> clzz, TYPE instance) {
+            requireNonNull(clzz);
+            for (int i = 0; i < size; i++) {
+                if (classes[i] == clzz) {
+                    instances[i] = instance;
+                    return this;
+                }
+            }
+            
+            if (size == classes.length) {
+                classes   = Arrays.copyOf(classes,   size*2);
+                instances = Arrays.copyOf(instances, size*2);
+            }
+            classes  [size] = clzz;
+            instances[size] = instance;
+            size++;
+            return this;
+        }
+        
+        /**
+         * Build the scope.
+         * 
+         * @return  the scoped provider.
+         */
+        public ScopedProvider build() {
+            val scopeClasses   = Arrays.copyOf(classes,   size);
+            val scopeInstances = Arrays.copyOf(instances, size);
+            val shapeProvider  = parent.shapeProviderFor(scopeClasses);
+            return new ScopedProvider(shapeProvider, scopeClasses, scopeInstances);
+        }
+    }
+    
+}
@@ -0,0 +1,167 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import lombok.val;
+
+/**
+ * The cache of the suppliers of a provider.
+ * 
+ * Classes loaded by the class loader of DefaultJ (or its ancestors) cannot be unloaded before DefaultJ itself
+ *   so their suppliers are kept in a regular map.
+ * Suppliers of classes from other class loaders (such as plugins) are kept with the class itself
+ *   using a {@link ClassValue} so the cache does not keep those classes (and their class loaders) reachable.
+ * Those classes are also registered weakly so that the cache can be enumerated (when invalidating) --
+ *   the registry is only touched when a plan is cached or enumerated, never when one is looked up.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class SupplierCache {
+    
+    private static final ClassLoader[] permanentLoaders = permanentLoaders();
+    
+    private final Map<Class, SupplierPlan> permanentSuppliers = new ConcurrentHashMap<Class, SupplierPlan>();
+    
+    private final Set<Class<?>> unloadableClasses = synchronizedSet(newSetFromMap(new WeakHashMap<Class<?>, Boolean>()));
+    
+    private final ClassValue<Holder> unloadableSuppliers = new ClassValue<Holder>() {
+        @Override
+        protected Holder computeValue(Class<?> type) {
+            return new Holder();
+        }
+    };
+    
+    private static final class Holder {
+        private volatile SupplierPlan plan;
+    }
+    
+    private static ClassLoader[] permanentLoaders() {
+        val loaders = new ArrayList<ClassLoader>();
+        for (ClassLoader loader = SupplierCache.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+            loaders.add(loader);
+        }
+        return loaders.toArray(new ClassLoader[loaders.size()]);
+    }
+    
+    static boolean isPermanent(Class<?> clzz) {
+        val loader = clzz.getClassLoader();
+        if (loader == null)
+            return true;
+        
+        for (val permanentLoader : permanentLoaders) {
+            if (permanentLoader == loader)
+                return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the cached supplier plan for the given class.
+     * 
+     * @param clzz  the class.
+     * @return  the plan or {@code null} if none was cached.
+     */
+    SupplierPlan get(Class<?> clzz) {
+        val plan = permanentSuppliers.get(clzz);
+        if (plan != null)
+            return plan;
+        
+        if (isPermanent(clzz))
+            return null;
+        
+        return unloadableSuppliers.get(clzz).plan;
+    }
+    
+    /**
+     * Cache the supplier plan for the given class.
+     * 
+     * @param clzz  the class.
+     * @param plan  the plan.
+     */
+    void put(Class<?> clzz, SupplierPlan plan) {
+        if (isPermanent(clzz)) {
+            permanentSuppliers.put(clzz, plan);
+        } else {
+            unloadableSuppliers.get(clzz).plan = plan;
+            unloadableClasses.add(clzz);
+        }
+    }
+    
+    /**
+     * Remove the cached supplier plan for the given class.
+     * 
+     * @param clzz  the class.
+     */
+    void remove(Class<?> clzz) {
+        if (isPermanent(clzz))
+            permanentSuppliers.remove(clzz);
+        else
+            unloadableSuppliers.remove(clzz);
+    }
+    
+    /**
+     * Remove the cached supplier plan for the given class if it is still the given plan.
+     * 
+     * @param clzz  the class.
+     * @param plan  the plan.
+     */
+    void remove(Class<?> clzz, SupplierPlan plan) {
+        if (isPermanent(clzz)) {
+            permanentSuppliers.remove(clzz, plan);
+        } else {
+            val holder = unloadableSuppliers.get(clzz);
+            if (holder.plan == plan)
+                holder.plan = null;
+        }
+    }
+    
+    /**
+     * Call the action with each class and its cached plan.
+     * 
+     * @param action  the action.
+     */
+    void forEach(BiConsumer<Class<?>, SupplierPlan> action) {
+        permanentSuppliers.forEach((clzz, plan) -> action.accept(clzz, plan));
+        
+        Class<?>[] classes;
+        synchronized (unloadableClasses) {
+            classes = unloadableClasses.toArray(new Class<?>[unloadableClasses.size()]);
+        }
+        for (val clzz : classes) {
+            val plan = unloadableSuppliers.get(clzz).plan;
+            if (plan != null)
+                action.accept(clzz, plan);
+        }
+    }
+    
+}
@@ -0,0 +1,208 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+
+import defaultj.api.IProvideDefault;
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import defaultj.core.strategies.IFindSupplier;
+import defaultj.core.suppliers.ConstantSupplier;
+import defaultj.core.suppliers.Dependency;
+import defaultj.core.suppliers.IDeclareDependencies;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+/**
+ * The resolved plan of how a provider gives the default of a class -- the supplier and what is known about
+ *   the dependency graph reachable from it.
+ * 
+ * A plan starts unchecked. Once the dependency graph is walked, the plan is either verified
+ *   (every dependency is known, none of them can lead back to the class) or tracked
+ *   (the graph is cyclic or cannot be fully known so cycle has to be detected while the default is created).
+ * 
+ * A problem known to prevent the default from being provided is kept as a fact:
+ *   every throw gets its own exception (see {@link #newProblem()}).
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@SuppressWarnings("rawtypes")
+final class SupplierPlan {
+    
+    static final int UNCHECKED = 0;
+    static final int VERIFIED  = 1;
+    static final int TRACKED   = 2;
+    
+    // The stages of the resolution the supplier came from.
+    /** From a binding. */
+    static final int BOUND    = 0;
+    /** The provider itself. */
+    static final int PROVIDER = 1;
+    /** From the finders that always come before the additional finders. */
+    static final int PRESET   = 2;
+    /** From the additional finders, the finders after them or the known values. */
+    static final int FOUND    = 3;
+    /** From the failure handling. */
+    static final int FALLBACK = 4;
+    /** A supplier that looks up the class again when called -- never cached. */
+    static final int DEFERRED = 5;
+    /** The resolution itself failed -- the supplier throws the problem. */
+    static final int FAILED   = 6;
+    
+    // Whether the default is known to be providable -- only from what is known without creating it.
+    static final int PROVIDABLE_UNKNOWN = 0;
+    static final int PROVIDABLE         = 1;
+    static final int NOT_PROVIDABLE     = 2;
+    
+    private static final List<Dependency> noDependencies = emptyList();
+    
+    final Supplier supplier;
+    
+    private final int           stage;
+    private final IFindSupplier finder;
+    
+    private volatile int state = UNCHECKED;
+    
+    private volatile ProvideDefaultException problem = null;
+    
+    private volatile int providability = PROVIDABLE_UNKNOWN;
+    
+    SupplierPlan(Supplier supplier, int stage) {
+        this(supplier, stage, null);
+    }
+    
+    SupplierPlan(Supplier supplier, int stage, IFindSupplier finder) {
+        this.supplier = supplier;
+        this.stage    = stage;
+        this.finder   = finder;
+    }
+    
+    /**
+     * Create a plan for a class whose resolution failed.
+     * 
+     * @param theGivenClass  the class.
+     * @param cause          the cause of the failure.
+     * @param isStackless    {@code true} if the failure is reported without stack trace.
+     * @return  the plan that fails with the problem.
+     */
+    static SupplierPlan failing(Class theGivenClass, Throwable cause, boolean isStackless) {
+        val problem = DefaultProvider.failure(theGivenClass, cause, isStackless);
+        val plan    = new SupplierPlan(()->{ throw renew(problem); }, FAILED);
+        plan.problem = problem;
+        return plan;
+    }
+    
+    /** @return  the stage of the resolution the supplier came from. */
+    int stage() {
+        return stage;
+    }
+    
+    /** @return  the finder the supplier came from or {@code null} if the supplier did not come from a finder. */
+    IFindSupplier finder() {
+        return finder;
+    }
+    
+    /** @return {@code true} if the supplier is a constant whose value is already known. */
+    boolean isKnownConstant() {
+        return (supplier instanceof ConstantSupplier) && ((ConstantSupplier)supplier).isKnown();
+    }
+    
+    /**
+     * Check if the dependencies of this plan are all known when the dependencies are obtained from the given provider.
+     * 
+     * @param provider  the provider.
+     * @return {@code true} if the dependencies are known.
+     */
+    boolean isTransparentTo(IProvideDefault provider) {
+        if (supplier instanceof ConstantSupplier)
+            return true;
+        if (!(supplier instanceof IDeclareDependencies))
+            return false;
+        return ((IDeclareDependencies)supplier).dependencyProvider() == provider;
+    }
+    
+    /** @return  the declared dependencies or an empty list if the supplier does not declare them. */
+    List<Dependency> dependencies() {
+        return (supplier instanceof IDeclareDependencies)
+                ? ((IDeclareDependencies)supplier).dependencies()
+                : noDependencies;
+    }
+    
+    int state() {
+        return state;
+    }
+    
+    boolean isUnchecked() {
+        return state == UNCHECKED;
+    }
+    
+    boolean isVerified() {
+        return state == VERIFIED;
+    }
+    
+    void state(int state) {
+        this.state = state;
+    }
+    
+    /** @return  the problem known to prevent the default from being provided or {@code null} if none is known. */
+    ProvideDefaultException problem() {
+        return problem;
+    }
+    
+    void problem(ProvideDefaultException problem) {
+        this.problem = problem;
+    }
+    
+    /**
+     * Returns a new exception of the known problem to be thrown
+     *   so no caller sees the stack trace or the suppressed exceptions of another.
+     * A stackless problem has neither so it is shared.
+     * 
+     * @return  the exception or {@code null} if no problem is known.
+     */
+    ProvideDefaultException newProblem() {
+        return renew(problem);
+    }
+    
+    private static ProvideDefaultException renew(ProvideDefaultException problem) {
+        if ((problem == null) || problem.isStackless())
+            return problem;
+        
+        if (problem instanceof CyclicDependencyDetectedException) {
+            val cycle = (CyclicDependencyDetectedException)problem;
+            return new CyclicDependencyDetectedException(cycle.getTargetClass(), cycle.getCyclePath(), false);
+        }
+        return new ProvideDefaultException(problem.getTargetClass(), problem.getCause());
+    }
+    
+    int providability() {
+        return providability;
+    }
+    
+    void providability(int providability) {
+        this.providability = providability;
+    }
+    
+}
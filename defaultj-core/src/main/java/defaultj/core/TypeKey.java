@@ -0,0 +1,284 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import lombok.val;
+
+/**
+ * The canonical key of a type -- a class or a fully parameterized type such as {@code List<String>}
+ *   optionally qualified by a name (as given by {@code @Named}).
+ * 
+ * Keys are interned: the same type always gives the same key instance (while the key is in use)
+ *   so keys are compared by identity and looking up a key costs the same as looking up a class.
+ * The key of a class is kept with the class itself
+ *   and the other keys are kept weakly in a table kept with their raw class
+ *   -- so the keys hold no class (nor its class loader) from being unloaded.
+ * 
+ * Wildcards and type variables are keyed by their (first) upper bound
+ *   and the owner type of a parameterized inner class is not part of the key.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class TypeKey {
+    
+    private static final TypeKey[] noArguments = new TypeKey[0];
+    
+    private static final ClassValue<TypeKey> classKeys = new ClassValue<TypeKey>() {
+        @Override
+        protected TypeKey computeValue(Class<?> type) {
+            return new TypeKey(type, noArguments, null);
+        }
+    };
+    
+    // The keys are weak so the arguments and the qualifiers of the keys no longer used are dropped.
+    private static final ClassValue<Map<TypeKey, WeakReference<TypeKey>>> internedKeys
+            = new ClassValue<Map<TypeKey, WeakReference<TypeKey>>>() {
+        @Override
+        protected Map<TypeKey, WeakReference<TypeKey>> computeValue(Class<?> type) {
+            return new WeakHashMap<TypeKey, WeakReference<TypeKey>>();
+        }
+    };
+    
+    private final Class<?>  rawClass;
+    private final TypeKey[] arguments;
+    private final String    qualifier;
+    private final int       hashCode;
+    
+    private TypeKey(Class<?> rawClass, TypeKey[] arguments, String qualifier) {
+        this.rawClass  = rawClass;
+        this.arguments = arguments;
+        this.qualifier = qualifier;
+        this.hashCode  = (31*(31*rawClass.hashCode() + Objects.hashCode(qualifier))) + Arrays.hashCode(arguments);
+    }
+    
+    /**
+     * Returns the key of the given class.
+     * 
+     * @param clzz  the class.
+     * @return  the key.
+     */
+    public static TypeKey of(Class<?> clzz) {
+        return classKeys.get(clzz);
+    }
+    
+    /**
+     * Returns the key of the given raw class parameterized with the given classes.
+     * 
+     * @param rawClass   the raw class.
+     * @param arguments  the type arguments.
+     * @return  the key.
+     * @throws IllegalArgumentException  if the number of the arguments does not match the type parameters of the class.
+     */
+    public static TypeKey of(Class<?> rawClass, Class<?> ... arguments) {
+        val argumentKeys = new TypeKey[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            argumentKeys[i] = of(arguments[i]);
+        }
+        return of(rawClass, argumentKeys);
+    }
+    
+    /**
+     * Returns the key of the given raw class parameterized with the given keys.
+     * 
+     * @param rawClass   the raw class.
+     * @param arguments  the keys of the type arguments.
+     * @return  the key.
+     * @throws IllegalArgumentException  if the number of the arguments does not match the type parameters of the class.
+     */
+    public static TypeKey of(Class<?> rawClass, TypeKey ... arguments) {
+        if ((arguments.length != 0) && (arguments.length != rawClass.getTypeParameters().length))
+            throw new IllegalArgumentException(
+                    "Expect " + rawClass.getTypeParameters().length + " type arguments for " + rawClass.getName()
+                    + " but got " + arguments.length + ".");
+        
+        return intern(rawClass, arguments, null);
+    }
+    
+    private static TypeKey intern(Class<?> rawClass, TypeKey[] arguments, String qualifier) {
+        if ((arguments.length == 0) && (qualifier == null))
+            return of(rawClass);
+        
+        val newKey = new TypeKey(rawClass, arguments.clone(), qualifier);
+        val keys   = internedKeys.get(rawClass);
+        synchronized (keys) {
+            val existingRef = keys.get(newKey);
+            val existing    = (existingRef != null) ? existingRef.get() : null;
+            if (existing != null)
+                return existing;
+            
+            keys.put(newKey, new WeakReference<TypeKey>(newKey));
+            return newKey;
+        }
+    }
+    
+    /**
+     * Returns the key of the given type.
+     * 
+     * @param type  the type -- such as the generic type of a parameter.
+     * @return  the key.
+     */
+    public static TypeKey of(Type type) {
+        if (type instanceof Class)
+            return of((Class<?>)type);
+        
+        if (type instanceof ParameterizedType) {
+            val parameterizedType = (ParameterizedType)type;
+            val typeArguments     = parameterizedType.getActualTypeArguments();
+            val argumentKeys      = new TypeKey[typeArguments.length];
+            for (int i = 0; i < typeArguments.length; i++) {
+                argumentKeys[i] = of(typeArguments[i]);
+            }
+            return of(rawClassOf(parameterizedType.getRawType()), argumentKeys);
+        }
+        
+        if (type instanceof WildcardType)
+            return of(((WildcardType)type).getUpperBounds()[0]);
+        
+        // The bounds of a type variable may refer back to the variable (T extends Comparable<T>).
+        return of(rawClassOf(type));
+    }
+    
+    /**
+     * Returns the raw class of the given type.
+     * 
+     * @param type  the type.
+     * @return  the raw class.
+     */
+    public static Class<?> rawClassOf(Type type) {
+        if (type instanceof Class)
+            return (Class<?>)type;
+        if (type instanceof ParameterizedType)
+            return rawClassOf(((ParameterizedType)type).getRawType());
+        if (type instanceof GenericArrayType)
+            return java.lang.reflect.Array.newInstance(rawClassOf(((GenericArrayType)type).getGenericComponentType()), 0).getClass();
+        if (type instanceof WildcardType)
+            return rawClassOf(((WildcardType)type).getUpperBounds()[0]);
+        if (type instanceof TypeVariable)
+            return rawClassOf(((TypeVariable<?>)type).getBounds()[0]);
+        return Object.class;
+    }
+    
+    /**
+     * Returns the key of the same type qualified by the given name.
+     * 
+     * @param qualifier  the qualifier name -- such as the value of {@code @Named}.
+     * @return  the qualified key.
+     */
+    public TypeKey named(String qualifier) {
+        return intern(rawClass, arguments, requireNonNull(qualifier));
+    }
+    
+    /** @return  the key of the same type without the qualifier. */
+    public TypeKey unqualified() {
+        return (qualifier == null) ? this : intern(rawClass, arguments, null);
+    }
+    
+    /** @return  the raw class of the type. */
+    public Class<?> rawClass() {
+        return rawClass;
+    }
+    
+    /** @return  the keys of the type arguments -- empty if the type is not parameterized. */
+    public List<TypeKey> arguments() {
+        return unmodifiableList(asList(arguments));
+    }
+    
+    /** @return  the qualifier name or {@code null} if the key is not qualified. */
+    public String qualifier() {
+        return qualifier;
+    }
+    
+    /** @return  {@code true} if the type is parameterized. */
+    public boolean isParameterized() {
+        return arguments.length != 0;
+    }
+    
+    /** @return  {@code true} if the key is qualified by a name. */
+    public boolean isQualified() {
+        return qualifier != null;
+    }
+    
+    /** @return  {@code true} if this key is just the key of a class -- not parameterized nor qualified. */
+    public boolean isPlainClass() {
+        return (arguments.length == 0) && (qualifier == null);
+    }
+    
+    // Only used for interning -- the arguments are interned so they are compared by identity.
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof TypeKey))
+            return false;
+        
+        val other = (TypeKey)obj;
+        if ((rawClass != other.rawClass) || !Objects.equals(qualifier, other.qualifier) || (arguments.length != other.arguments.length))
+            return false;
+        
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] != other.arguments[i])
+                return false;
+        }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+    
+    @Override
+    public String toString() {
+        val buffer = new StringBuilder();
+        if (qualifier != null)
+            buffer.append("@Named(\"").append(qualifier).append("\") ");
+        
+        buffer.append(rawClass.getName());
+        if (arguments.length == 0)
+            return buffer.toString();
+        
+        buffer.append('<');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i != 0)
+                buffer.append(", ");
+            buffer.append(arguments[i]);
+        }
+        return buffer.append('>').toString();
+    }
+    
+}
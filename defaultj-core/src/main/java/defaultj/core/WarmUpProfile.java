@@ -0,0 +1,123 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import lombok.val;
+
+/**
+ * The warm-up profile -- the classes resolved during a run in the order they were resolved.
+ * 
+ * The profile is a small text file: a header line then one class name per line.
+ * The classes that cannot be found when the profile is read (such as after a deploy that removed them)
+ *   are skipped.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+final class WarmUpProfile {
+    
+    static final String HEADER = "# defaultj warm-up profile v1";
+    
+    private WarmUpProfile() {
+    }
+    
+    /**
+     * Write the classes to the profile -- replacing the existing profile atomically where possible.
+     * 
+     * @param profile  the profile file.
+     * @param classes  the classes.
+     * @throws IOException  if the file cannot be written.
+     */
+    static void write(Path profile, Collection<Class<?>> classes) throws IOException {
+        val lines = new ArrayList<String>(classes.size() + 1);
+        lines.add(HEADER);
+        for (val clzz : new LinkedHashSet<Class<?>>(classes)) {
+            if (!clzz.isPrimitive())
+                lines.add(clzz.getName());
+        }
+        
+        replace(profile, String.join("\n", lines).concat("\n").getBytes(UTF_8));
+    }
+    
+    /**
+     * Replace the content of the file -- atomically where possible so a reader never sees a partial file.
+     * 
+     * @param file     the file.
+     * @param content  the content.
+     * @throws IOException  if the file cannot be written.
+     */
+    static void replace(Path file, byte[] content) throws IOException {
+        val directory = file.toAbsolutePath().getParent();
+        val tempFile  = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Read the classes from the profile.
+     * 
+     * @param profile      the profile file.
+     * @param classLoader  the class loader to load the classes with.
+     * @return  the classes in the order they were resolved or an empty list if there is no profile.
+     * @throws IOException  if the file cannot be read or is not a profile.
+     */
+    static List<Class<?>> read(Path profile, ClassLoader classLoader) throws IOException {
+        val classes = new ArrayList<Class<?>>();
+        if (!Files.exists(profile))
+            return classes;
+        
+        val lines = Files.readAllLines(profile, UTF_8);
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0)))
+            throw new IOException("Not a warm-up profile: " + profile);
+        
+        for (val line : lines.subList(1, lines.size())) {
+            val name = line.trim();
+            if (name.isEmpty())
+                continue;
+            try {
+                classes.add(Class.forName(name, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Gone since the profile was recorded.
+            }
+        }
+        return classes;
+    }
+    
+}
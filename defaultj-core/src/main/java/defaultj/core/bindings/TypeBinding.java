@@ -45,6 +45,11 @@ public class TypeBinding<TYPE> implements IBind<TYPE> {
         this.referedType = referedType;
     }
     
+    /** @return  the refered type. */
+    public Class<? extends TYPE> referedType() {
+        return referedType;
+    }
+    
     @Override
     public TYPE get(IProvideDefault defaultProvider) {
         val value = (TYPE)defaultProvider.get(referedType);
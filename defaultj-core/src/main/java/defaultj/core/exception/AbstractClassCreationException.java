@@ -41,6 +41,16 @@ public class AbstractClassCreationException extends ProvideDefaultException {
         this("Abstract class can't be created: " + clazz, clazz);
     }
     
+    /**
+     * Constructor of the exception that can be stackless and whose message is formatted only when asked for.
+     * 
+     * @param clazz        the class that this fail creation is attempted too.
+     * @param isStackless  {@code true} if the stack trace should not be filled in.
+     **/
+    public AbstractClassCreationException(Class<?> clazz, boolean isStackless) {
+        super(clazz, null, isStackless);
+    }
+    
 
     /**
      * Constructor 
@@ -52,4 +62,9 @@ public class AbstractClassCreationException extends ProvideDefaultException {
         super(msg, clazz, null);
     }
     
+    @Override
+    protected String formatMessage() {
+        return "Abstract class can't be created: " + getTargetClass();
+    }
+    
 }
@@ -0,0 +1,46 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.exception;
+
+import static java.lang.String.format;
+
+import defaultj.api.ProvideDefaultException;
+
+/**
+ * This exception is thrown when a frozen provider is asked for a class that was not frozen with it.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public class ClassNotFrozenException extends ProvideDefaultException {
+    
+    private static final long serialVersionUID = 5217370470930180283L;
+    
+    /**
+     * Constructs the exception.
+     * 
+     * @param clazz  the class.
+     */
+    public ClassNotFrozenException(Class<?> clazz) {
+        super(format("'%s' is not reachable from the roots the provider was frozen with", clazz.getName()), clazz, null);
+    }
+    
+}
@@ -21,6 +21,13 @@
 //  SOFTWARE.
 package defaultj.core.exception;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import defaultj.api.ProvideDefaultException;
 
 /**
@@ -32,7 +39,8 @@ public class CyclicDependencyDetectedException extends ProvideDefaultException {
     
     private static final long serialVersionUID = -7821227248195126756L;
     
-    private final Class<?> clazz;
+    private final Class<?>       clazz;
+    private final List<Class<?>> cyclePath;
     
     /**
      * Constructor 
@@ -40,7 +48,7 @@ public class CyclicDependencyDetectedException extends ProvideDefaultException {
      * @param clazz  the class that this fail creation is attempted too.
      **/
     public CyclicDependencyDetectedException(Class<?> clazz) {
-        this(clazz, null);
+        this(clazz, (Throwable)null);
     }
     
     /**
@@ -51,11 +59,51 @@ public class CyclicDependencyDetectedException extends ProvideDefaultException {
      **/
     public CyclicDependencyDetectedException(Class<?> clazz, Throwable cause) {
         super(clazz, cause);
-        this.clazz = clazz;
+        this.clazz     = clazz;
+        this.cyclePath = unmodifiableList(asList(clazz, clazz));
+    }
+    
+    /**
+     * Construct an exception with the cycle path.
+     * 
+     * @param clazz      the class that causes this cyclic.
+     * @param cyclePath  the classes in the cycle in the order they depend on one another
+     *                     -- starting and ending with the class.
+     **/
+    public CyclicDependencyDetectedException(Class<?> clazz, List<Class<?>> cyclePath) {
+        this(clazz, cyclePath, false);
+    }
+    
+    /**
+     * Construct an exception with the cycle path that can be stackless.
+     * 
+     * The message is formatted only when asked for.
+     * 
+     * @param clazz        the class that causes this cyclic.
+     * @param cyclePath    the classes in the cycle in the order they depend on one another
+     *                       -- starting and ending with the class.
+     * @param isStackless  {@code true} if the stack trace should not be filled in.
+     **/
+    public CyclicDependencyDetectedException(Class<?> clazz, List<Class<?>> cyclePath, boolean isStackless) {
+        super(clazz, null, isStackless);
+        this.clazz     = clazz;
+        this.cyclePath = unmodifiableList(new ArrayList<Class<?>>(cyclePath));
+    }
+    
+    @Override
+    protected String formatMessage() {
+        return "Cyclic dependency: " + cyclePath.stream()
+                .map    (Class::getCanonicalName)
+                .collect(joining(" -> "));
     }
     
     /** @return the target class with the problem. */
     public Class<?> getTargetClass() {
         return clazz;
     }
+    
+    /** @return the classes in the cycle in the order they depend on one another -- starting and ending with the same class. */
+    public List<Class<?>> getCyclePath() {
+        return cyclePath;
+    }
 }
@@ -23,15 +23,19 @@ package defaultj.core.strategies;
 
 import static defaultj.core.utils.ConstructorUtils._isPublic;
 import static defaultj.core.utils.ConstructorUtils.findConstructorWithAnnotation;
+import static defaultj.core.utils.ConstructorUtils.invokerOf;
 import static defaultj.core.utils.ConstructorUtils.sensibleDefaultConstructorOf;
-import static defaultj.core.utils.MethodSupplierFinderUtils.prepareParameters;
+import static defaultj.core.utils.MethodSupplierFinderUtils.injectionPlanOf;
+import static defaultj.core.utils.PostConstructUtils.callPostConstruct;
 import static nullablej.NullableJ._orGet;
 
 import java.lang.reflect.Constructor;
 
 import defaultj.annotations.Default;
-import defaultj.annotations.PostConstruct;
 import defaultj.api.IProvideDefault;
+import defaultj.core.suppliers.DependentSupplier;
+import defaultj.core.utils.InjectionPlan;
+import defaultj.core.utils.failable.Failable.Function;
 import defaultj.core.utils.failable.Failable.Supplier;
 import defaultj.core.utils.failable.Failables;
 import lombok.val;
@@ -48,44 +52,61 @@ public class ConstructorSupplierFinder implements IFindSupplier {
     @Override
     public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE>
             find(Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
-        Constructor<TYPE> constructor
-                = _orGet(findConstructorWithAnnotation(theGivenClass, ANNOTATION_NAME),
-                         sensibleDefaultConstructorOf(theGivenClass));
-        
+        val constructor = constructorOf(theGivenClass);
         if (!_isPublic(constructor))
             return null;
         
-        @SuppressWarnings("unchecked")
-        val supplier = (Supplier<TYPE, THROWABLE>)Failables.of(()-> {
-            return callConstructor(constructor, defaultProvider);
+        return supplierFor(constructor, injectionPlanOf(constructor), defaultProvider);
+    }
+    
+    /**
+     * Returns the constructor this finder uses for the given class.
+     * 
+     * @param <TYPE>         the type of the class.
+     * @param theGivenClass  the class.
+     * @return  the constructor or {@code null} if there is none to use.
+     */
+    public <TYPE> Constructor<TYPE> constructorOf(Class<TYPE> theGivenClass) {
+        return _orGet(findConstructorWithAnnotation(theGivenClass, ANNOTATION_NAME),
+                      sensibleDefaultConstructorOf(theGivenClass));
+    }
+    
+    /**
+     * Returns the supplier that creates the default with the given constructor and injection plan
+     *   -- as found by this finder.
+     * 
+     * @param <TYPE>           the type of the class.
+     * @param <THROWABLE>      the type of the thrown exception.
+     * @param constructor      the constructor.
+     * @param plan             the injection plan of the constructor.
+     * @param defaultProvider  the provider to get the parameters from.
+     * @return  the supplier.
+     */
+    public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE>
+            supplierFor(Constructor<TYPE> constructor, InjectionPlan plan, IProvideDefault defaultProvider) {
+        val invoker = invokerOf(constructor);
+        return DependentSupplier.rebindable(provider -> supplierOf(plan, invoker, provider), defaultProvider, plan.dependencies());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> supplierOf(
+                InjectionPlan                                          plan,
+                Function<Object[], TYPE, ReflectiveOperationException> invoker,
+                IProvideDefault                                        defaultProvider) {
+        return (Supplier<TYPE, THROWABLE>)Failables.of(()-> {
+            return callConstructor(plan, invoker, defaultProvider);
         });
-        return supplier;
     }
     
-    private <TYPE> TYPE callConstructor(Constructor<TYPE> constructor, IProvideDefault defaultProvider)
+    private <TYPE> TYPE callConstructor(
+                InjectionPlan                                          plan,
+                Function<Object[], TYPE, ReflectiveOperationException> invoker,
+                IProvideDefault                                        defaultProvider)
             throws ReflectiveOperationException {
-        // TODO - Change to use method handle.
-        val paramValues = prepareParameters(constructor, defaultProvider);
-        val instance    = constructor.newInstance(paramValues);
+        val paramValues = plan.prepareParameters(defaultProvider);
+        val instance    = invoker.apply(paramValues);
         
-        // TODO - Do the inherited methods too. - be careful duplicate when done with default methods
-        val methods = instance.getClass().getDeclaredMethods();
-        for(val method : methods) {
-            for(val annotation : method.getAnnotations()) {
-                val annotationName = annotation.annotationType().getSimpleName();
-                val isPostContruct = PostConstruct.class.getSimpleName().equals(annotationName);
-                if (!isPostContruct)
-                    continue;
-                
-                val isAccessible = method.isAccessible();
-                try {
-                    method.setAccessible(true);
-                    method.invoke(instance);
-                } finally {
-                    method.setAccessible(isAccessible);
-                }
-            }
-        }
+        callPostConstruct(instance);
         
         return (TYPE)instance;
     }
@@ -24,7 +24,9 @@ package defaultj.core.strategies;
 import static defaultj.core.strategies.common.extractValue;
 import static defaultj.core.strategies.common.notNull;
 import static defaultj.core.strategies.common.toString;
+import static defaultj.core.suppliers.Dependency.required;
 import static defaultj.core.utils.AnnotationUtils.has;
+import static java.util.Arrays.asList;
 
 import java.lang.annotation.Annotation;
 import java.util.function.Function;
@@ -33,8 +35,8 @@ import java.util.stream.Stream;
 
 import defaultj.annotations.DefaultImplementation;
 import defaultj.api.IProvideDefault;
+import defaultj.core.suppliers.DependentSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
-import defaultj.core.utils.failable.Failables;
 import lombok.val;
 
 /**
@@ -56,16 +58,17 @@ public class DefaultImplementationSupplierFinder implements IFindSupplier {
     public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
             Class<TYPE>     theGivenClass,
             IProvideDefault defaultProvider) {
-        if (!has(theGivenClass.getAnnotations(), ANNOTATION_NAME))
+        if (!has(theGivenClass, ANNOTATION_NAME))
             return null;
         
         val defaultImplementationClass = findDefaultImplementation(theGivenClass);
         if (defaultImplementationClass == null)
             return null;
         
-        return Failables.of(()->{ 
-            return (TYPE)defaultProvider.get(defaultImplementationClass);
-        });
+        return DependentSupplier.<TYPE, THROWABLE>rebindable(
+                provider -> ()->(TYPE)provider.get(defaultImplementationClass),
+                defaultProvider,
+                asList(required(defaultImplementationClass)));
     }
     
     @SuppressWarnings("unchecked")
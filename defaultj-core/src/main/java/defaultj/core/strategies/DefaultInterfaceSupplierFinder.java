@@ -28,6 +28,7 @@ import static nullablej.utils.reflection.UProxy.getNonDefaultMethods;
 import defaultj.annotations.DefaultInterface;
 import defaultj.api.IProvideDefault;
 import defaultj.core.exception.NonDefaultInterfaceException;
+import defaultj.core.suppliers.ConstantSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 
@@ -46,7 +47,7 @@ public class DefaultInterfaceSupplierFinder implements IFindSupplier {
             IProvideDefault defaultProvider) {
         boolean isDefaultInterface
                 =  theGivenClass.isInterface()
-                && has(theGivenClass.getAnnotations(), DEFAULT_INTERFACE);
+                && has(theGivenClass, DEFAULT_INTERFACE);
         
         if (!isDefaultInterface)
             return null;
@@ -57,7 +58,7 @@ public class DefaultInterfaceSupplierFinder implements IFindSupplier {
         }
         
         val theProxy = createDefaultProxy(theGivenClass);
-        return () -> theProxy;
+        return ConstantSupplier.of(theProxy);
     }
     
 }
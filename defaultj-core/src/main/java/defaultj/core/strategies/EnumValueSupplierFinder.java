@@ -29,6 +29,7 @@ import java.util.function.Predicate;
 import defaultj.annotations.Default;
 import defaultj.api.IProvideDefault;
 import defaultj.core.exception.DefaultCreationException;
+import defaultj.core.suppliers.ConstantSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 import nullablej.NullableJ;
@@ -50,7 +51,7 @@ public class EnumValueSupplierFinder implements IFindSupplier {
             return null;
         
         val enumValue = findDefaultEnumValue(theGivenClass);
-        return ()->enumValue;
+        return ConstantSupplier.of(enumValue);
     }
     
     private static <T> T findDefaultEnumValue(Class<T> theGivenClass) {
@@ -69,7 +70,7 @@ public class EnumValueSupplierFinder implements IFindSupplier {
         return value->{
             val name = ((Enum)value).name();
             try {
-                return has(theGivenClass.getField(name).getAnnotations(), DEFAULT);
+                return has(theGivenClass.getField(name), DEFAULT);
             } catch (NoSuchFieldException | SecurityException e) {
                 throw new DefaultCreationException(theGivenClass, e);
             }
@@ -21,7 +21,7 @@
 //  SOFTWARE.
 package defaultj.core.strategies;
 
-import static defaultj.core.utils.MethodSupplierFinderUtils.prepareParameters;
+import static defaultj.core.utils.MethodSupplierFinderUtils.injectionPlanOf;
 import static defaultj.core.utils.MethodUtils.annotatedWith;
 import static defaultj.core.utils.MethodUtils.ifPublicMethod;
 import static defaultj.core.utils.MethodUtils.ifStaticMethod;
@@ -35,6 +35,8 @@ import java.util.stream.Stream;
 
 import defaultj.annotations.Default;
 import defaultj.api.IProvideDefault;
+import defaultj.core.suppliers.DependentSupplier;
+import defaultj.core.utils.InjectionPlan;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 import nullablej.nullable.Nullable;
@@ -81,17 +83,26 @@ public class FactoryMethodSupplierFinder implements IFindSupplier {
             this.defaultProvider = defaultProvider;
         }
         
-        @SuppressWarnings({ "rawtypes" })
+        @SuppressWarnings({ "rawtypes", "unchecked" })
         private Supplier findValue(Method method) {
+            val plan     = injectionPlanOf(method);
+            val supplier = findSupplier(method, plan);
+            return (supplier != null)
+                    ? new DependentSupplier(supplier, defaultProvider, plan.dependencies())
+                    : null;
+        }
+        
+        @SuppressWarnings({ "rawtypes" })
+        private Supplier findSupplier(Method method, InjectionPlan plan) {
             val type = method.getReturnType();
             if (theGivenClass.isAssignableFrom(type))
-                return (Supplier)(()->basicFactoryMethodCall(method));
+                return (Supplier)(()->basicFactoryMethodCall(method, plan));
             
-            val fromNullable = findNullableOrOptional(method, type);
+            val fromNullable = findNullableOrOptional(method, plan, type);
             if (fromNullable != null)
                 return fromNullable;
             
-            val fromSupplier = findSupplier(method, type);
+            val fromSupplier = findSupplier(method, plan, type);
             if (fromSupplier != null)
                 return fromSupplier;
             
@@ -99,7 +110,7 @@ public class FactoryMethodSupplierFinder implements IFindSupplier {
         }
         
         @SuppressWarnings("rawtypes")
-        private Supplier findSupplier(Method method, final java.lang.Class<?> type) {
+        private Supplier findSupplier(Method method, InjectionPlan plan, final java.lang.Class<?> type) {
             if (!java.util.function.Supplier.class.isAssignableFrom(type)) 
                 return null;
             
@@ -109,11 +120,11 @@ public class FactoryMethodSupplierFinder implements IFindSupplier {
                 return null;
             
             val getMethod = getGetMethod();
-             return (Supplier)(()->supplierFactoryMethodCall(method, getMethod));
+            return (Supplier)(()->supplierFactoryMethodCall(method, plan, getMethod));
         }
         
         @SuppressWarnings("rawtypes")
-        private Supplier findNullableOrOptional(Method method, Class<?> type) {
+        private Supplier findNullableOrOptional(Method method, InjectionPlan plan, Class<?> type) {
             val isOptional = Optional.class.isAssignableFrom(type);
             val isNullable = !isOptional && Nullable.class.isAssignableFrom(type);
             if (!isOptional && !isNullable)
@@ -125,13 +136,13 @@ public class FactoryMethodSupplierFinder implements IFindSupplier {
             if (!theGivenClass.isAssignableFrom(actualType))
                 return null;
             
-            return (Supplier)(()->getNullableOrOptionalValue(method, isNullable));
+            return (Supplier)(()->getNullableOrOptionalValue(method, plan, isNullable));
         }
         
         @SuppressWarnings({ "rawtypes", "unchecked" })
-        private Object getNullableOrOptionalValue(Method method, final boolean isNullable)
+        private Object getNullableOrOptionalValue(Method method, InjectionPlan plan, final boolean isNullable)
                 throws IllegalAccessException, InvocationTargetException {
-            val params   = prepareParameters(method, defaultProvider);
+            val params   = plan.prepareParameters(defaultProvider);
             val nullable = method.invoke(theGivenClass, params);
             val value = isNullable
                     ? ((Nullable)nullable).orElse(null)
@@ -150,18 +161,19 @@ public class FactoryMethodSupplierFinder implements IFindSupplier {
         }
         
         private Object supplierFactoryMethodCall(
-                Method method,
-                Method getMethod) 
+                Method        method,
+                InjectionPlan plan,
+                Method        getMethod) 
                         throws IllegalAccessException, InvocationTargetException {
-            val params = prepareParameters(method, defaultProvider);
+            val params = plan.prepareParameters(defaultProvider);
             val result = method.invoke(theGivenClass, params);
             val value  = getMethod.invoke(result);
             return value;
         }
         
-        private Object basicFactoryMethodCall(Method method)
+        private Object basicFactoryMethodCall(Method method, InjectionPlan plan)
                 throws IllegalAccessException, InvocationTargetException {
-            val params = prepareParameters(method, defaultProvider);
+            val params = plan.prepareParameters(defaultProvider);
             val value  = method.invoke(theGivenClass, params);
             return value;
         }
@@ -24,7 +24,9 @@ package defaultj.core.strategies;
 import static defaultj.core.strategies.common.NullSupplier;
 import static defaultj.core.strategies.common.extractValue;
 import static defaultj.core.strategies.common.toString;
+import static defaultj.core.suppliers.Dependency.required;
 import static defaultj.core.utils.AnnotationUtils.has;
+import static java.util.Arrays.asList;
 import static nullablej.NullableJ._isNull;
 
 import java.util.function.Function;
@@ -34,8 +36,8 @@ import defaultj.annotations.ImplementedBy;
 import defaultj.api.IProvideDefault;
 import defaultj.core.exception.ImplementedClassNotCompatibleExistException;
 import defaultj.core.exception.ImplementedClassNotExistException;
+import defaultj.core.suppliers.DependentSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
-import defaultj.core.utils.failable.Failables;
 import lombok.val;
 
 /**
@@ -52,16 +54,17 @@ public class ImplementedBySupplierFinder implements IFindSupplier {
     public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
             Class<TYPE>     theGivenClass,
             IProvideDefault defaultProvider) {
-        if (!has(theGivenClass.getAnnotations(), ANNOTATION_NAME))
+        if (!has(theGivenClass, ANNOTATION_NAME))
             return null;
         
         val defaultImplementationClass = findDefaultImplementation(theGivenClass);
         if (_isNull(defaultImplementationClass))
             return NullSupplier;
         
-        return Failables.of(()->{ 
-            return (TYPE)defaultProvider.get(defaultImplementationClass);
-        });
+        return DependentSupplier.<TYPE, THROWABLE>rebindable(
+                provider -> ()->(TYPE)provider.get(defaultImplementationClass),
+                defaultProvider,
+                asList(required(defaultImplementationClass)));
     }
     
     @SuppressWarnings("unchecked")
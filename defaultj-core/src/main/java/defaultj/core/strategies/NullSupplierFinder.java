@@ -43,7 +43,7 @@ public class NullSupplierFinder implements IFindSupplier {
     public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
             Class<TYPE>     theGivenClass,
             IProvideDefault defaultProvider) {
-        return has(theGivenClass.getAnnotations(), ANNOTATION_NAME)
+        return has(theGivenClass, ANNOTATION_NAME)
                 ? (Supplier<TYPE, THROWABLE>)NullSupplier
                 : null;
     }
@@ -35,6 +35,7 @@ import java.util.function.Predicate;
 
 import defaultj.annotations.Default;
 import defaultj.api.IProvideDefault;
+import defaultj.core.suppliers.ConstantSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 import nullablej.nullable.Nullable;
@@ -90,7 +91,7 @@ public class SingletonFieldFinder implements IFindSupplier {
         Supplier findValue(Field field) {
             val type = field.getType();
             if (theGivenClass.isAssignableFrom(type))
-                return (Supplier)(()->getFieldValue(field));
+                return ConstantSupplier.lazily(()->getFieldValue(field));
             
             val optionalSupplier = findOptionalOrNullableFieldValue(field, type);
             if (optionalSupplier != null)
@@ -138,7 +139,7 @@ public class SingletonFieldFinder implements IFindSupplier {
             if (!theGivenClass.isAssignableFrom(actualType))
                 return null;
             
-            val supplier = (Supplier)(()-> {
+            Supplier supplier = ConstantSupplier.lazily(()-> {
                 val optional = getFieldValue(field);
                 val value = isOptional
                           ? ((Optional)optional).orElse(null)
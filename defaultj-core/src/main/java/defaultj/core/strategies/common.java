@@ -25,6 +25,7 @@ import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import defaultj.core.suppliers.ConstantSupplier;
 import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
 
@@ -42,7 +43,7 @@ class common {
     public static final Function<Object, String> toString = Object::toString;
     
     @SuppressWarnings("rawtypes")
-    public static final Supplier NullSupplier = () -> null;
+    public static final Supplier NullSupplier = ConstantSupplier.of(null);
     
     public static final Predicate<Object> notNull  = Objects::nonNull;
     
@@ -0,0 +1,104 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.suppliers;
+
+import defaultj.core.utils.failable.Failable.Supplier;
+
+/**
+ * A supplier that always gives the same value.
+ * 
+ * The value is either given when the supplier is created or obtained the first time the supplier is called.
+ * Once known, the value can be read with {@link #knownValue()} without calling the supplier
+ *   so the provider can return it without any bookkeeping (and without allocation).
+ * 
+ * @param <TYPE>       the type of the value.
+ * @param <THROWABLE>  the type of the exception thrown when obtaining the value.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class ConstantSupplier<TYPE, THROWABLE extends Throwable> implements Supplier<TYPE, THROWABLE> {
+    
+    private final Supplier<? extends TYPE, ? extends THROWABLE> source;
+    
+    private volatile boolean isKnown;
+    private          TYPE    value;
+    
+    private ConstantSupplier(TYPE value, Supplier<? extends TYPE, ? extends THROWABLE> source) {
+        this.value   = value;
+        this.source  = source;
+        this.isKnown = (source == null);
+    }
+    
+    /**
+     * Create a constant supplier of the given value.
+     * 
+     * @param <TYPE>       the type of the value.
+     * @param <THROWABLE>  the type of the exception.
+     * @param value        the value.
+     * @return  the constant supplier.
+     */
+    public static <TYPE, THROWABLE extends Throwable> ConstantSupplier<TYPE, THROWABLE> of(TYPE value) {
+        return new ConstantSupplier<TYPE, THROWABLE>(value, null);
+    }
+    
+    /**
+     * Create a constant supplier that obtains its value from the given source the first time it is called.
+     * 
+     * The source may be called more than once if the supplier is called by many threads at the same time
+     *   so it must always give the same value -- like reading a static final field.
+     * If the source fails, the value stays unknown and the source is called again next time.
+     * 
+     * @param <TYPE>       the type of the value.
+     * @param <THROWABLE>  the type of the exception.
+     * @param source       the source of the value.
+     * @return  the constant supplier.
+     */
+    public static <TYPE, THROWABLE extends Throwable> ConstantSupplier<TYPE, THROWABLE> lazily(
+            Supplier<? extends TYPE, ? extends THROWABLE> source) {
+        return new ConstantSupplier<TYPE, THROWABLE>(null, source);
+    }
+    
+    @Override
+    public TYPE get() throws THROWABLE {
+        if (isKnown)
+            return value;
+        
+        value   = source.get();
+        isKnown = true;
+        return value;
+    }
+    
+    /** @return {@code true} if the value is already known. */
+    public boolean isKnown() {
+        return isKnown;
+    }
+    
+    /**
+     * Returns the value if known.
+     * 
+     * @return  the known value or {@code null} if the value is not yet known.
+     */
+    public TYPE knownValue() {
+        return isKnown ? value : null;
+    }
+    
+}
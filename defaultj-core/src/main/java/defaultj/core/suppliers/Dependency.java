@@ -0,0 +1,102 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.suppliers;
+
+import defaultj.core.TypeKey;
+
+/**
+ * A dependency of a supplier -- the class whose default the supplier asks for and how it asks for it.
+ * 
+ * The default may be asked for by a type key (such as a parameterized or a qualified type)
+ *   which is then kept with the dependency -- the class is the raw class of the key.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class Dependency {
+    
+    /** How the default of the dependency is used. */
+    public static enum Kind {
+        /** The default is needed -- failing to get it fails the supplier. */
+        REQUIRED,
+        /** The default is used if it can be obtained -- failing to get it is tolerated. */
+        OPTIONAL,
+        /** The default is obtained later through a supplier (if ever). */
+        DEFERRED;
+    }
+    
+    private final Class<?> type;
+    private final TypeKey  typeKey;
+    private final Kind     kind;
+    
+    /**
+     * Constructs a dependency.
+     * 
+     * @param type  the class of the dependency.
+     * @param kind  the kind of the dependency.
+     */
+    public Dependency(Class<?> type, Kind kind) {
+        this(TypeKey.of(type), kind);
+    }
+    
+    /**
+     * Constructs a dependency on the default of a type key.
+     * 
+     * @param typeKey  the type key of the dependency.
+     * @param kind     the kind of the dependency.
+     */
+    public Dependency(TypeKey typeKey, Kind kind) {
+        this.type    = typeKey.rawClass();
+        this.typeKey = typeKey;
+        this.kind    = kind;
+    }
+    
+    /**
+     * Create a required dependency.
+     * 
+     * @param type  the class of the dependency.
+     * @return  the dependency.
+     */
+    public static Dependency required(Class<?> type) {
+        return new Dependency(type, Kind.REQUIRED);
+    }
+    
+    /** @return  the class of the dependency. */
+    public Class<?> type() {
+        return type;
+    }
+    
+    /** @return  the type key of the dependency -- the key of the class unless asked for by a type key. */
+    public TypeKey typeKey() {
+        return typeKey;
+    }
+    
+    /** @return  the kind of the dependency. */
+    public Kind kind() {
+        return kind;
+    }
+    
+    @Override
+    public String toString() {
+        return "Dependency[" + kind + ":" + typeKey + "]";
+    }
+    
+}
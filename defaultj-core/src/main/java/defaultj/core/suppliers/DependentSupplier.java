@@ -0,0 +1,152 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.suppliers;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.utils.failable.Failable.Supplier;
+
+/**
+ * A supplier that delegates to another supplier and declares what it depends on.
+ * 
+ * @param <TYPE>       the type of the value.
+ * @param <THROWABLE>  the type of the thrown exception.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class DependentSupplier<TYPE, THROWABLE extends Throwable>
+                implements Supplier<TYPE, THROWABLE>, IDeclareDependencies {
+    
+    private static final List<Dependency> noDependencies = emptyList();
+    
+    private final Supplier<? extends TYPE, ? extends THROWABLE> supplier;
+    private final IProvideDefault                               dependencyProvider;
+    private final List<Dependency>                              dependencies;
+    
+    private final Function<IProvideDefault, Supplier<? extends TYPE, ? extends THROWABLE>> supplierFactory;
+    
+    /**
+     * Constructs a dependent supplier.
+     * 
+     * @param supplier            the supplier to delegate to.
+     * @param dependencyProvider  the provider the dependencies are obtained from.
+     * @param dependencies        the dependencies.
+     */
+    public DependentSupplier(
+            Supplier<? extends TYPE, ? extends THROWABLE> supplier,
+            IProvideDefault                               dependencyProvider,
+            List<Dependency>                              dependencies) {
+        this(supplier, null, dependencyProvider, dependencies);
+    }
+    
+    private DependentSupplier(
+            Supplier<? extends TYPE, ? extends THROWABLE>                            supplier,
+            Function<IProvideDefault, Supplier<? extends TYPE, ? extends THROWABLE>> supplierFactory,
+            IProvideDefault                                                          dependencyProvider,
+            List<Dependency>                                                         dependencies) {
+        this.supplier           = supplier;
+        this.supplierFactory    = supplierFactory;
+        this.dependencyProvider = dependencyProvider;
+        this.dependencies       = (dependencies == null) || dependencies.isEmpty()
+                                ? noDependencies
+                                : unmodifiableList(new ArrayList<Dependency>(dependencies));
+    }
+    
+    /**
+     * Create a supplier that can also obtain its dependencies from another provider
+     *   -- such as one with some dependencies already created.
+     * 
+     * @param <TYPE>              the type of the value.
+     * @param <THROWABLE>         the type of the thrown exception.
+     * @param supplierFactory     the function to create the supplier that obtains the dependencies from the given provider.
+     * @param dependencyProvider  the provider the dependencies are obtained from.
+     * @param dependencies        the dependencies.
+     * @return  the dependent supplier.
+     */
+    public static <TYPE, THROWABLE extends Throwable> DependentSupplier<TYPE, THROWABLE> rebindable(
+            Function<IProvideDefault, Supplier<? extends TYPE, ? extends THROWABLE>> supplierFactory,
+            IProvideDefault                                                          dependencyProvider,
+            List<Dependency>                                                         dependencies) {
+        return new DependentSupplier<TYPE, THROWABLE>(supplierFactory.apply(dependencyProvider), supplierFactory, dependencyProvider, dependencies);
+    }
+    
+    /**
+     * Create a supplier that does not depend on any other default.
+     * 
+     * @param <TYPE>              the type of the value.
+     * @param <THROWABLE>         the type of the thrown exception.
+     * @param supplier            the supplier to delegate to.
+     * @param dependencyProvider  the provider.
+     * @return  the dependent supplier.
+     */
+    public static <TYPE, THROWABLE extends Throwable> DependentSupplier<TYPE, THROWABLE> independent(
+            Supplier<? extends TYPE, ? extends THROWABLE> supplier,
+            IProvideDefault                               dependencyProvider) {
+        return new DependentSupplier<TYPE, THROWABLE>(supplier, dependencyProvider, noDependencies);
+    }
+    
+    @Override
+    public TYPE get() throws THROWABLE {
+        return supplier.get();
+    }
+    
+    /** @return {@code true} if this supplier can obtain its dependencies from another provider. */
+    public boolean isRebindable() {
+        return supplierFactory != null;
+    }
+    
+    /**
+     * Returns a supplier that obtains the dependencies from the given provider.
+     * 
+     * @param provider  the provider.
+     * @return  the supplier.
+     * @throws UnsupportedOperationException  if this supplier is not rebindable.
+     */
+    public Supplier<? extends TYPE, ? extends THROWABLE> supplierWith(IProvideDefault provider) {
+        if (supplierFactory == null)
+            throw new UnsupportedOperationException("Not rebindable: " + this);
+        
+        return supplierFactory.apply(provider);
+    }
+    
+    @Override
+    public IProvideDefault dependencyProvider() {
+        return dependencyProvider;
+    }
+    
+    @Override
+    public List<Dependency> dependencies() {
+        return dependencies;
+    }
+    
+    @Override
+    public String toString() {
+        return "DependentSupplier" + dependencies;
+    }
+    
+}
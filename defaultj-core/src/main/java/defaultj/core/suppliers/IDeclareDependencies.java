@@ -0,0 +1,45 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.suppliers;
+
+import java.util.List;
+
+import defaultj.api.IProvideDefault;
+
+/**
+ * Suppliers implementing this interface tell what defaults they ask for.
+ * 
+ * This allows the dependency graph to be checked (for cycle for example) without calling the suppliers.
+ * The list must include every default the supplier asks the provider for -- a supplier that cannot tell
+ *   should not implement this interface.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public interface IDeclareDependencies {
+    
+    /** @return  the provider the dependencies are obtained from. */
+    public IProvideDefault dependencyProvider();
+    
+    /** @return  the dependencies. */
+    public List<Dependency> dependencies();
+    
+}
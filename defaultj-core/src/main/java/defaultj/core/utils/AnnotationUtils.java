@@ -21,32 +21,145 @@
 //  SOFTWARE.
 package defaultj.core.utils;
 
-import static nullablej.NullableJ._hasAll;
-import static nullablej.NullableJ._hasSome;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import lombok.val;
 
 /**
  * Utility class for Annotations.
  * 
+ * Annotations are matched by their simple names so an annotation of the same name from any package works.
+ * The annotations of classes, members and parameters are indexed by their simple names once.
+ * The index of a class is kept with the class itself (via {@link ClassValue})
+ *   and the indexes of members and parameters are kept with their declaring classes
+ *   so they are unloaded along with those classes.
+ * 
  * @author NawaMan -- nawa@nawaman.net
  */
 public class AnnotationUtils {
-
+    
+    private static final Map<String, Annotation> noAnnotations = emptyMap();
+    
+    private static final ClassValue<Map<String, Annotation>> classIndexes = new ClassValue<Map<String, Annotation>>() {
+        @Override
+        protected Map<String, Annotation> computeValue(Class<?> type) {
+            return indexOf(type.getAnnotations());
+        }
+    };
+    
+    private static final ClassValue<Map<AnnotatedElement, Map<String, Annotation>>> memberIndexes
+            = new ClassValue<Map<AnnotatedElement, Map<String, Annotation>>>() {
+                @Override
+                protected Map<AnnotatedElement, Map<String, Annotation>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+    
     /**
      * Check if the an annotation is has the simple name as the one given 
      * @param name  the name expected.
      * @return  the predicate to check if annotation is with the given name.
      **/
     public static Predicate<? super Annotation> withNamed(String name) {
-        return annotation->{
-            val toString = annotation.toString();
-            return toString.matches("^@.*(\\.|\\$)" + name + "\\(.*$");
-        };
+        return annotation->name.equals(annotation.annotationType().getSimpleName());
+    }
+    
+    /**
+     * Returns the index of the annotations of the given element by their simple names.
+     * 
+     * @param element  the annotated element -- a class, a member or a parameter.
+     * @return  the map of the simple names to the annotations.
+     */
+    public static Map<String, Annotation> annotationIndexOf(AnnotatedElement element) {
+        if (element instanceof Class)
+            return classIndexes.get((Class<?>)element);
+        
+        val declaringClass
+                = (element instanceof Member)    ? ((Member)element).getDeclaringClass()
+                : (element instanceof Parameter) ? ((Parameter)element).getDeclaringExecutable().getDeclaringClass()
+                : null;
+        if (declaringClass == null)
+            return indexOf(element.getAnnotations());
+        
+        val indexes = memberIndexes.get(declaringClass);
+        val index   = indexes.get(element);
+        if (index != null)
+            return index;
+        
+        return indexes.computeIfAbsent(element, each -> indexOf(each.getAnnotations()));
+    }
+    
+    /**
+     * Returns the annotation of the given simple name on the given element.
+     * 
+     * @param element  the annotated element.
+     * @param name     the simple name of the annotation.
+     * @return  the annotation or {@code null} if there is none.
+     */
+    public static Annotation annotationNamed(AnnotatedElement element, String name) {
+        return annotationIndexOf(element).get(name);
+    }
+    
+    /**
+     * Returns the qualifier name of the given element -- the value of its {@code @Named} annotation (of any package).
+     * 
+     * @param element  the annotated element -- such as a parameter.
+     * @return  the qualifier name or {@code null} if the element is not qualified.
+     */
+    public static String qualifierOf(AnnotatedElement element) {
+        val named = annotationNamed(element, "Named");
+        if (named == null)
+            return null;
+        
+        try {
+            val value = named.annotationType().getMethod("value").invoke(named);
+            return (value instanceof String) ? (String)value : null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Check to see if the given element has at least one annotation of the given names.
+     * 
+     * @param element  the annotated element.
+     * @param names    the names expected.
+     * @return  {@code true}  if the element has at lease one of the names.
+     */
+    public static boolean has(AnnotatedElement element, String ... names) {
+        val index = annotationIndexOf(element);
+        for (val name : names) {
+            if (index.containsKey(name))
+                return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Check to see if the given element has annotations of all of the specified names.
+     * 
+     * @param element  the annotated element.
+     * @param names    the names expected.
+     * @return  {@code true}  if the element has all of the names.
+     */
+    public static boolean hasAllOf(AnnotatedElement element, String ... names) {
+        val index = annotationIndexOf(element);
+        for (val name : names) {
+            if (!index.containsKey(name))
+                return false;
+        }
+        return true;
     }
     
     /**
@@ -57,8 +170,14 @@ public class AnnotationUtils {
      * @return  {@code true}  if the annotations has at lease one of the names.
      */
     public static boolean has(Annotation[] annotations, String ... names) {
-        return Stream.of(names).anyMatch(
-                name -> _hasSome(annotations, withNamed(name)));
+        for (val annotation : annotations) {
+            val simpleName = annotation.annotationType().getSimpleName();
+            for (val name : names) {
+                if (name.equals(simpleName))
+                    return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -66,11 +185,21 @@ public class AnnotationUtils {
      * 
      * @param annotations  an array of annotations.
      * @param names        the names expected.
-     * @return  {@code true}  if the annotations has at lease one of the names.
+     * @return  {@code true}  if the annotations has all of the names.
      */
     public static boolean hasAllOf(Annotation[] annotations, String ... names) {
-        return Stream.of(names).allMatch(
-                name -> _hasAll(annotations, withNamed(name)));
+        return indexOf(annotations).keySet().containsAll(asList(names));
+    }
+    
+    private static Map<String, Annotation> indexOf(Annotation[] annotations) {
+        if (annotations.length == 0)
+            return noAnnotations;
+        
+        val index = new HashMap<String, Annotation>();
+        for (val annotation : annotations) {
+            index.putIfAbsent(annotation.annotationType().getSimpleName(), annotation);
+        }
+        return unmodifiableMap(index);
     }
     
 }
@@ -23,11 +23,16 @@ package defaultj.core.utils;
 
 import static defaultj.core.utils.AnnotationUtils.has;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.function.Supplier;
 
 import defaultj.core.exception.DefaultCreationException;
+import defaultj.core.utils.failable.Failable.Function;
 import lombok.val;
 
 /**
@@ -37,6 +42,8 @@ import lombok.val;
  */
 public class ConstructorUtils {
     
+    private static final MethodType spreadType = MethodType.methodType(Object.class, Object[].class);
+    
     /**
      * Checks if the constructor is public (null-safe).
      * 
@@ -83,7 +90,7 @@ public class ConstructorUtils {
             if (!Modifier.isPublic(constructor.getModifiers()))
                 continue;
             
-            if (has(constructor.getAnnotations(), annotationNames)) {
+            if (has(constructor, annotationNames)) {
                 if (foundConstructor != null)
                     return null;
                 
@@ -133,4 +140,57 @@ public class ConstructorUtils {
         return (Constructor<T>) clzz.getConstructors()[0];
     }
     
+    /**
+     * Compile the given constructor into an invoker that takes the parameter array.
+     * 
+     * The constructor is unreflected once into a method handle spread to its fixed arity
+     *   so each invocation avoids the reflective access checks of {@link Constructor#newInstance(Object...)}.
+     * If the constructor cannot be unreflected (for example, its class is not accessible),
+     *   the invoker falls back to the reflective call.
+     * In both cases, exception thrown by the constructor is wrapped in {@link InvocationTargetException}
+     *   while errors (such as {@link OutOfMemoryError}) are rethrown as is.
+     * 
+     * @param <T>          the data type that the constructor creates.
+     * @param constructor  the constructor.
+     * @return  the invoker.
+     */
+    public static <T> Function<Object[], T, ReflectiveOperationException> invokerOf(Constructor<T> constructor) {
+        val handle = constructorHandleOf(constructor);
+        if (handle == null) {
+            return params -> {
+                try {
+                    return constructor.newInstance(params);
+                } catch (InvocationTargetException exception) {
+                    if (exception.getCause() instanceof Error)
+                        throw (Error)exception.getCause();
+                    throw exception;
+                }
+            };
+        }
+        
+        return params -> {
+            try {
+                @SuppressWarnings("unchecked")
+                T instance = (T)(Object)handle.invokeExact(params);
+                return instance;
+            } catch (Error error) {
+                throw error;
+            } catch (Throwable cause) {
+                throw new InvocationTargetException(cause);
+            }
+        };
+    }
+    
+    private static MethodHandle constructorHandleOf(Constructor<?> constructor) {
+        try {
+            val paramCount = constructor.getParameterCount();
+            return MethodHandles.publicLookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, paramCount)
+                    .asType(spreadType);
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+    
 }
@@ -89,7 +89,7 @@ public class FieldUtils {
      * @return  the predicate.
      */
     public static Predicate<Field> annotatedWith(String ... names) {
-        return field->has(field.getAnnotations(), names);
+        return field->has(field, names);
     }
     
 }
@@ -0,0 +1,335 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.utils;
+
+import static defaultj.core.utils.AnnotationUtils.has;
+import static defaultj.core.utils.AnnotationUtils.qualifierOf;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.DefaultProvider;
+import defaultj.core.IProvideKeyedDefault;
+import defaultj.core.ScopedProvider;
+import defaultj.core.TypeKey;
+import defaultj.core.suppliers.Dependency;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+import nullablej.nullable.Nullable;
+
+/**
+ * An immutable plan of how to inject the parameters of a constructor or a method.
+ * 
+ * The plan is resolved once per constructor or method -- each parameter is classified into a slot
+ *   so that preparing the parameter values does not need to read the parameters or their annotations again.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public final class InjectionPlan {
+    
+    /** The kind of the injection slot. */
+    public static enum Kind {
+        /** The parameter is given the default of its type. */
+        PLAIN,
+        /** The parameter is given the default of its type or null if the default cannot be obtained. */
+        NULLABLE_ON_FAILURE,
+        /** The parameter is given a {@link java.util.function.Supplier} of the default of the type. */
+        SUPPLIER,
+        /** The parameter is given a {@link Supplier Failable.Supplier} of the default of the type. */
+        FAILABLE_SUPPLIER,
+        /** The parameter is given an {@link Optional} of the default of the type. */
+        OPTIONAL,
+        /** The parameter is given a {@link Nullable} of the default of the type. */
+        NULLABLE;
+    }
+    
+    /**
+     * The injection slot for a parameter.
+     */
+    public static final class Slot {
+        
+        private final Kind     kind;
+        private final Class<?> type;
+        private final TypeKey  typeKey;
+        private final boolean  nullOnFailure;
+        
+        Slot(Kind kind, TypeKey typeKey, boolean nullOnFailure) {
+            this.kind          = kind;
+            this.type          = typeKey.rawClass();
+            this.typeKey       = typeKey;
+            this.nullOnFailure = nullOnFailure;
+        }
+        
+        /**
+         * Create a slot -- such as one that was classified before.
+         * 
+         * @param kind           the kind of the slot.
+         * @param type           the class whose default is used for the slot.
+         * @param nullOnFailure  {@code true} if the parameter is given null when the default cannot be obtained.
+         * @return  the slot.
+         */
+        public static Slot of(Kind kind, Class<?> type, boolean nullOnFailure) {
+            return new Slot(kind, TypeKey.of(type), nullOnFailure);
+        }
+        
+        /**
+         * Create a slot for the given type key -- such as a parameterized type.
+         * 
+         * @param kind           the kind of the slot.
+         * @param typeKey        the key of the type whose default is used for the slot.
+         * @param nullOnFailure  {@code true} if the parameter is given null when the default cannot be obtained.
+         * @return  the slot.
+         */
+        public static Slot of(Kind kind, TypeKey typeKey, boolean nullOnFailure) {
+            return new Slot(kind, typeKey, nullOnFailure);
+        }
+        
+        /** @return  the kind of this slot. */
+        public Kind kind() {
+            return kind;
+        }
+        
+        /** @return  the class whose default is used for this slot. */
+        public Class<?> type() {
+            return type;
+        }
+        
+        /** @return  the key of the type whose default is used for this slot -- parameterized if the parameter type is. */
+        public TypeKey typeKey() {
+            return typeKey;
+        }
+        
+        /** @return  {@code true} if the parameter is given null when the default cannot be obtained. */
+        public boolean nullOnFailure() {
+            return nullOnFailure;
+        }
+        
+        /** @return  the dependency this slot has on the default of its type. */
+        public Dependency dependency() {
+            // The value of a parameterized or qualified type comes from its binding when it is created.
+            if (!typeKey.isPlainClass())
+                return new Dependency(typeKey, Dependency.Kind.DEFERRED);
+            
+            switch (kind) {
+            case PLAIN:
+                return new Dependency(type, Dependency.Kind.REQUIRED);
+            case SUPPLIER:
+            case FAILABLE_SUPPLIER:
+                return new Dependency(type, Dependency.Kind.DEFERRED);
+            default:
+                return new Dependency(type, Dependency.Kind.OPTIONAL);
+            }
+        }
+        
+        /**
+         * Returns the value for this slot.
+         * 
+         * @param defaultProvider  the default provider.
+         * @return  the value.
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public Object resolve(IProvideDefault defaultProvider) {
+            switch (kind) {
+            case PLAIN:
+                return valueOf(defaultProvider);
+            case NULLABLE_ON_FAILURE:
+                return getValueOrNullWhenFail(defaultProvider);
+            case FAILABLE_SUPPLIER: {
+                // The supplier may be called after the scope it was created in is done.
+                val provider = ScopedProvider.inScope(defaultProvider);
+                return (Supplier)(()->valueOf(provider));
+            }
+            case SUPPLIER: {
+                val provider = ScopedProvider.inScope(defaultProvider);
+                return (java.util.function.Supplier)(()->valueOf(provider));
+            }
+            case OPTIONAL:
+            case NULLABLE:
+                return getNullableOrOptionalValue(defaultProvider);
+            default:
+                throw new IllegalStateException("Unknown slot kind: " + kind);
+            }
+        }
+        
+        private Object getNullableOrOptionalValue(IProvideDefault defaultProvider) {
+            val isOptional = (kind == Kind.OPTIONAL);
+            if (isKnownNotProvidable(defaultProvider))
+                return emptyValue(isOptional);
+            
+            try {
+                val paramValue = valueOf(defaultProvider);
+                return isOptional ? Optional.ofNullable(paramValue) : Nullable.of(paramValue);
+            } catch (Exception e) {
+                return emptyValue(isOptional);
+            }
+        }
+        
+        private Object emptyValue(boolean isOptional) {
+            if (nullOnFailure)
+                return null;
+            return isOptional ? Optional.empty() : Nullable.empty();
+        }
+        
+        private Object getValueOrNullWhenFail(IProvideDefault defaultProvider) {
+            if (isKnownNotProvidable(defaultProvider))
+                return null;
+            
+            try {
+                return valueOf(defaultProvider);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        
+        private Object valueOf(IProvideDefault defaultProvider) {
+            return IProvideKeyedDefault.getFrom(defaultProvider, typeKey);
+        }
+        
+        // Only asked to the providers that can answer without getting the default.
+        // A parameterized or qualified type may be bound even when its raw class is not providable.
+        private boolean isKnownNotProvidable(IProvideDefault defaultProvider) {
+            return (defaultProvider instanceof DefaultProvider)
+                && typeKey.isPlainClass()
+                && !defaultProvider.canProvide(type);
+        }
+        
+        @Override
+        public String toString() {
+            return "Slot[" + kind + ":" + typeKey + (nullOnFailure ? "?" : "") + "]";
+        }
+    }
+    
+    private final Slot[]           slots;
+    private final List<Dependency> dependencies;
+    
+    private InjectionPlan(Slot[] slots) {
+        this.slots = slots;
+        
+        val dependencies = new ArrayList<Dependency>(slots.length);
+        for (val slot : slots) {
+            dependencies.add(slot.dependency());
+        }
+        this.dependencies = unmodifiableList(dependencies);
+    }
+    
+    /**
+     * Create an injection plan for the given constructor or method.
+     * 
+     * @param executable  the constructor or the method.
+     * @return  the injection plan.
+     */
+    public static InjectionPlan of(Executable executable) {
+        val parameters = executable.getParameters();
+        val slots      = new Slot[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            slots[i] = slotOf(parameters[i]);
+        }
+        return new InjectionPlan(slots);
+    }
+    
+    /**
+     * Create an injection plan with the given slots -- such as the slots classified before.
+     * 
+     * @param slots  the slots -- one per parameter.
+     * @return  the injection plan.
+     */
+    public static InjectionPlan of(List<Slot> slots) {
+        return new InjectionPlan(slots.toArray(new Slot[slots.size()]));
+    }
+    
+    private static Slot slotOf(Parameter param) {
+        val paramType         = param.getType();
+        val parameterizedType = param.getParameterizedType();
+        val canBeNull         = has(param, "Nullable", "Optional");
+        val qualifier         = qualifierOf(param);
+        
+        if (parameterizedType instanceof ParameterizedType) {
+            val actualType = qualified(TypeKey.of(((ParameterizedType)parameterizedType).getActualTypeArguments()[0]), qualifier);
+            
+            if (Supplier.class.isAssignableFrom(paramType))
+                return new Slot(Kind.FAILABLE_SUPPLIER, actualType, false);
+            
+            if (java.util.function.Supplier.class.isAssignableFrom(paramType))
+                return new Slot(Kind.SUPPLIER, actualType, false);
+            
+            if (Optional.class.isAssignableFrom(paramType))
+                return new Slot(Kind.OPTIONAL, actualType, canBeNull);
+            
+            if (Nullable.class.isAssignableFrom(paramType))
+                return new Slot(Kind.NULLABLE, actualType, canBeNull);
+        }
+        
+        // Generic array and type variable parameters are keyed by their erasure -- the declared parameter type.
+        val paramKey = (parameterizedType instanceof ParameterizedType)
+                     ? TypeKey.of(parameterizedType)
+                     : TypeKey.of(paramType);
+        return canBeNull
+                ? new Slot(Kind.NULLABLE_ON_FAILURE, qualified(paramKey, qualifier), true)
+                : new Slot(Kind.PLAIN,               qualified(paramKey, qualifier), false);
+    }
+    
+    private static TypeKey qualified(TypeKey typeKey, String qualifier) {
+        return (qualifier != null) ? typeKey.named(qualifier) : typeKey;
+    }
+    
+    /** @return  the slots of this plan -- one per parameter. */
+    public List<Slot> slots() {
+        return unmodifiableList(asList(slots));
+    }
+    
+    /** @return  the dependencies of the parameters -- one per parameter. */
+    public List<Dependency> dependencies() {
+        return dependencies;
+    }
+    
+    /** @return  the number of parameters. */
+    public int parameterCount() {
+        return slots.length;
+    }
+    
+    /**
+     * Prepare the parameter values following this plan.
+     * 
+     * @param defaultProvider  the default provider.
+     * @return  the array of the parameter values.
+     */
+    public Object[] prepareParameters(IProvideDefault defaultProvider) {
+        val params = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            params[i] = slots[i].resolve(defaultProvider);
+        }
+        return params;
+    }
+    
+    @Override
+    public String toString() {
+        return "InjectionPlan" + asList(slots);
+    }
+    
+}
@@ -21,19 +21,14 @@
 //  SOFTWARE.
 package defaultj.core.utils;
 
-import static defaultj.core.utils.AnnotationUtils.has;
-
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import defaultj.api.IProvideDefault;
-import defaultj.core.utils.failable.Failable.Supplier;
 import lombok.val;
-import nullablej.nullable.Nullable;
 
 /**
  * Abstract class for supplier finders that get value from constructor or method.
@@ -42,6 +37,31 @@ import nullablej.nullable.Nullable;
  */
 public class MethodSupplierFinderUtils {
     
+    private static final ClassValue<Map<Executable, InjectionPlan>> injectionPlans
+            = new ClassValue<Map<Executable, InjectionPlan>>() {
+                @Override
+                protected Map<Executable, InjectionPlan> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+    
+    /**
+     * Returns the injection plan for the given method or constructor.
+     * 
+     * The plan is created once and kept with the declaring class.
+     * 
+     * @param executable  the method or the constructor.
+     * @return  the injection plan.
+     */
+    public static InjectionPlan injectionPlanOf(Executable executable) {
+        val plans = injectionPlans.get(executable.getDeclaringClass());
+        val plan  = plans.get(executable);
+        if (plan != null)
+            return plan;
+        
+        return plans.computeIfAbsent(executable, InjectionPlan::of);
+    }
+    
     /**
      * Returns the parameters for the given method.
      * 
@@ -50,9 +70,7 @@ public class MethodSupplierFinderUtils {
      * @return  the array of parameters.
      */
     public static Object[] prepareParameters(Method method, IProvideDefault defaultProvider) {
-        val paramsArray = method.getParameters();
-        val paramValues = getParameters(paramsArray , defaultProvider);
-        return paramValues;
+        return injectionPlanOf(method).prepareParameters(defaultProvider);
     }
     
     /**
@@ -63,77 +81,7 @@ public class MethodSupplierFinderUtils {
      * @return  the array of parameters.
      */
     public static Object[] prepareParameters(Constructor<?> constructor, IProvideDefault defaultProvider) {
-        val paramsArray = constructor.getParameters();
-        val paramValues = getParameters(paramsArray , defaultProvider);
-        return paramValues;
-    }
-    
-    private static Object[] getParameters(Parameter[] paramsArray, IProvideDefault defaultProvider) {
-        val params = new Object[paramsArray.length];
-        for (int i = 0; i < paramsArray.length; i++) {
-            val param             = paramsArray[i];
-            val paramType         = param.getType();
-            val parameterizedType = param.getParameterizedType();
-            boolean isNullable    = has(param.getAnnotations(), "Nullable")
-                                 || has(param.getAnnotations(), "Optional");
-            Object  paramValue    = determineParameterValue(paramType, parameterizedType, isNullable, defaultProvider);
-            params[i] = paramValue;
-        }
-        return params;
-    }
-    
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static Object determineParameterValue(Class paramType, Type type, boolean canBeNull, IProvideDefault defaultProvider) {
-        if (type instanceof ParameterizedType) {
-            val parameterizedType = (ParameterizedType)type;
-            val actualType        = (Class)parameterizedType.getActualTypeArguments()[0];
-            
-            if (Supplier.class.isAssignableFrom(paramType))
-                return  (Supplier)(()-> {
-                    val value = defaultProvider.get(actualType);
-                    return value;
-                });
-            
-            if (java.util.function.Supplier.class.isAssignableFrom(paramType))
-                return (java.util.function.Supplier)(()->{
-                    val value = defaultProvider.get(actualType);
-                    return value;
-                });
-            
-            val isOptional = Optional.class.isAssignableFrom(paramType);
-            val isNullable = !isOptional && Nullable.class.isAssignableFrom(paramType);
-            if (isOptional || isNullable) {
-                return getNullableOrOptionalValue(canBeNull, defaultProvider, actualType, isOptional);
-            }
-        }
-        
-        if (canBeNull)
-            return getValueOrNullWhenFail(paramType, defaultProvider);
-        
-        val value = defaultProvider.get(paramType);
-        return value;
-    }
-    
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static Object getNullableOrOptionalValue(boolean canBeNull, IProvideDefault defaultProvider,
-            final java.lang.Class actualType, final boolean isOptional) {
-        java.util.function.Function noException   = isOptional ? Optional::ofNullable : Nullable::of;
-        java.util.function.Supplier withException = isOptional ? Optional::empty      : Nullable::empty;
-        try {
-            val paramValue = defaultProvider.get(actualType);
-            return noException.apply(paramValue);
-        } catch (Exception e) {
-            return canBeNull ? null : withException.get();
-        }
-    }
-    
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    private static Object getValueOrNullWhenFail(Class paramType, IProvideDefault defaultProvider) {
-        try {
-            return defaultProvider.get(paramType);
-        } catch (Exception e) {
-            return null;
-        }
+        return injectionPlanOf(constructor).prepareParameters(defaultProvider);
     }
     
 }
@@ -73,7 +73,7 @@ public class MethodUtils {
      * @return  the predicate.
      */
     public static Predicate<Method> annotatedWith(String ... names) {
-        return method->has(method.getAnnotations(), names);
+        return method->has(method, names);
     }
     
 }
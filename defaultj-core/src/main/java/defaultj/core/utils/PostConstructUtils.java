@@ -0,0 +1,200 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.utils;
+
+import static defaultj.core.utils.AnnotationUtils.has;
+import static java.util.Collections.unmodifiableList;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import defaultj.annotations.PostConstruct;
+import lombok.val;
+
+/**
+ * Utility for finding and calling the post-construct methods.
+ * 
+ * The post-construct methods of a class are resolved once per concrete class
+ *   and kept as method handles with the class.
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+public class PostConstructUtils {
+    
+    private static final String     POST_CONSTRUCT = PostConstruct.class.getSimpleName();
+    private static final MethodType callType       = MethodType.methodType(void.class, Object.class);
+    
+    // The methods being preset by the current thread -- only seen while the value of the class is computed.
+    private static final ThreadLocal<List<Method>> presets = new ThreadLocal<List<Method>>();
+    
+    private static final ClassValue<PostConstructs> postConstructs = new ClassValue<PostConstructs>() {
+        @Override
+        protected PostConstructs computeValue(Class<?> type) {
+            val preset = presets.get();
+            return new PostConstructs((preset != null) ? preset : findPostConstructMethods(type));
+        }
+    };
+    
+    private static final class PostConstructs {
+        private final List<Method>   methods;
+        private final MethodHandle[] handles;
+        
+        PostConstructs(List<Method> methods) {
+            this.methods = unmodifiableList(methods);
+            this.handles = methods.stream().map(PostConstructUtils::handleOf).toArray(MethodHandle[]::new);
+        }
+    }
+    
+    /**
+     * Returns the post-construct methods of the given class in the order they will be called.
+     * 
+     * The methods of the super classes come before the methods of the sub classes
+     *   and a method overridden in the sub class is only included once.
+     * 
+     * @param clzz  the class.
+     * @return  the list of the post-construct methods.
+     */
+    public static List<Method> postConstructMethodsOf(Class<?> clzz) {
+        return postConstructs.get(clzz).methods;
+    }
+    
+    /**
+     * Preset the post-construct methods of the given class -- such as the methods found before --
+     *   so they are not looked for.
+     * 
+     * The methods are resolved with the class right away so nothing is kept apart from the class.
+     * This has no effect once the methods of the class are already resolved.
+     * 
+     * @param clzz     the class.
+     * @param methods  the post-construct methods in the order they will be called.
+     */
+    public static void presetPostConstructMethods(Class<?> clzz, List<Method> methods) {
+        presets.set(new ArrayList<Method>(methods));
+        try {
+            postConstructs.get(clzz);
+        } finally {
+            presets.remove();
+        }
+    }
+    
+    /**
+     * Call all the post-construct methods of the given instance.
+     * 
+     * @param instance  the instance.
+     * @throws InvocationTargetException  when a post-construct method throws an exception -- errors are rethrown as is.
+     */
+    public static void callPostConstruct(Object instance) throws InvocationTargetException {
+        if (instance == null)
+            return;
+        
+        val handles = postConstructs.get(instance.getClass()).handles;
+        for (val handle : handles) {
+            try {
+                handle.invokeExact(instance);
+            } catch (Error error) {
+                throw error;
+            } catch (Throwable cause) {
+                throw new InvocationTargetException(cause);
+            }
+        }
+    }
+    
+    private static List<Method> findPostConstructMethods(Class<?> clzz) {
+        val seenSignatures = new HashSet<String>();
+        val perClass       = new ArrayList<List<Method>>();
+        for (Class<?> type = clzz; type != null && type != Object.class; type = type.getSuperclass()) {
+            perClass.add(collect(type, seenSignatures));
+        }
+        
+        val interfaces = new LinkedHashSet<Class<?>>();
+        collectInterfaces(clzz, interfaces);
+        for (val type : interfaces) {
+            perClass.add(collect(type, seenSignatures));
+        }
+        
+        val methods = new ArrayList<Method>();
+        for (int i = perClass.size() - 1; i >= 0; i--) {
+            methods.addAll(perClass.get(i));
+        }
+        return methods;
+    }
+    
+    private static List<Method> collect(Class<?> type, Set<String> seenSignatures) {
+        val methods = new ArrayList<Method>();
+        for (val method : type.getDeclaredMethods()) {
+            if (method.isSynthetic() || method.isBridge())
+                continue;
+            
+            val isPrivate = Modifier.isPrivate(method.getModifiers());
+            val isStatic  = Modifier.isStatic (method.getModifiers());
+            val isNew     = isPrivate || isStatic || seenSignatures.add(signatureOf(method));
+            if (!isNew)
+                continue;
+            
+            if (type.isInterface() && !method.isDefault())
+                continue;
+            
+            if (method.getParameterCount() != 0)
+                continue;
+            
+            if (has(method, POST_CONSTRUCT))
+                methods.add(method);
+        }
+        return methods;
+    }
+    
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> each = type; each != null; each = each.getSuperclass()) {
+            for (val anInterface : each.getInterfaces()) {
+                if (interfaces.add(anInterface))
+                    collectInterfaces(anInterface, interfaces);
+            }
+        }
+    }
+    
+    private static String signatureOf(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+    
+    private static MethodHandle handleOf(Method method) {
+        try {
+            method.setAccessible(true);
+            val handle = MethodHandles.lookup().unreflect(method);
+            return Modifier.isStatic(method.getModifiers())
+                    ? MethodHandles.dropArguments(handle, 0, Object.class).asType(callType)
+                    : handle.asType(callType);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access the post-construct method: " + method, e);
+        }
+    }
+    
+}
@@ -187,6 +187,178 @@ public class Failable {
         }
     }
     
+    /**
+     * Failable int supplier -- the value is returned without boxing.
+     * 
+     * @param <T>  the type of the thrown exception.
+     **/
+    @FunctionalInterface
+    public static interface IntSupplier<T extends Throwable> {
+        
+        /**
+         * Run this supplier. 
+         * 
+         * @return  the result value.
+         * @throws T the thrown exception.
+         **/
+        public int getAsInt() throws T;
+        
+        /**
+         * Convert to a regular int supplier and throw FailableException if there is an exception.
+         *  
+         * @return  Java IntSupplier.
+         **/
+        public default java.util.function.IntSupplier toIntSupplier() {
+            return gracefully();
+        }
+        
+        /**
+         * Convert to a regular int supplier and throw FailableException if there is an exception. 
+         * 
+         * @return   Java IntSupplier.
+         **/
+        public default java.util.function.IntSupplier gracefully() {
+            return () -> {
+                try {
+                    return getAsInt();
+                } catch (FailableException t) {
+                    throw t;
+                } catch (Throwable t) {
+                    throw new FailableException(t);
+                }
+            };
+        }
+    }
+    
+    /**
+     * Failable long supplier -- the value is returned without boxing.
+     * 
+     * @param <T>  the type of the thrown exception.
+     **/
+    @FunctionalInterface
+    public static interface LongSupplier<T extends Throwable> {
+        
+        /**
+         * Run this supplier. 
+         * 
+         * @return  the result value.
+         * @throws T the thrown exception.
+         **/
+        public long getAsLong() throws T;
+        
+        /**
+         * Convert to a regular long supplier and throw FailableException if there is an exception.
+         *  
+         * @return  Java LongSupplier.
+         **/
+        public default java.util.function.LongSupplier toLongSupplier() {
+            return gracefully();
+        }
+        
+        /**
+         * Convert to a regular long supplier and throw FailableException if there is an exception. 
+         * 
+         * @return   Java LongSupplier.
+         **/
+        public default java.util.function.LongSupplier gracefully() {
+            return () -> {
+                try {
+                    return getAsLong();
+                } catch (FailableException t) {
+                    throw t;
+                } catch (Throwable t) {
+                    throw new FailableException(t);
+                }
+            };
+        }
+    }
+    
+    /**
+     * Failable double supplier -- the value is returned without boxing.
+     * 
+     * @param <T>  the type of the thrown exception.
+     **/
+    @FunctionalInterface
+    public static interface DoubleSupplier<T extends Throwable> {
+        
+        /**
+         * Run this supplier. 
+         * 
+         * @return  the result value.
+         * @throws T the thrown exception.
+         **/
+        public double getAsDouble() throws T;
+        
+        /**
+         * Convert to a regular double supplier and throw FailableException if there is an exception.
+         *  
+         * @return  Java DoubleSupplier.
+         **/
+        public default java.util.function.DoubleSupplier toDoubleSupplier() {
+            return gracefully();
+        }
+        
+        /**
+         * Convert to a regular double supplier and throw FailableException if there is an exception. 
+         * 
+         * @return   Java DoubleSupplier.
+         **/
+        public default java.util.function.DoubleSupplier gracefully() {
+            return () -> {
+                try {
+                    return getAsDouble();
+                } catch (FailableException t) {
+                    throw t;
+                } catch (Throwable t) {
+                    throw new FailableException(t);
+                }
+            };
+        }
+    }
+    
+    /**
+     * Failable boolean supplier -- the value is returned without boxing.
+     * 
+     * @param <T>  the type of the thrown exception.
+     **/
+    @FunctionalInterface
+    public static interface BooleanSupplier<T extends Throwable> {
+        
+        /**
+         * Run this supplier. 
+         * 
+         * @return  the result value.
+         * @throws T the thrown exception.
+         **/
+        public boolean getAsBoolean() throws T;
+        
+        /**
+         * Convert to a regular boolean supplier and throw FailableException if there is an exception.
+         *  
+         * @return  Java BooleanSupplier.
+         **/
+        public default java.util.function.BooleanSupplier toBooleanSupplier() {
+            return gracefully();
+        }
+        
+        /**
+         * Convert to a regular boolean supplier and throw FailableException if there is an exception. 
+         * 
+         * @return   Java BooleanSupplier.
+         **/
+        public default java.util.function.BooleanSupplier gracefully() {
+            return () -> {
+                try {
+                    return getAsBoolean();
+                } catch (FailableException t) {
+                    throw t;
+                } catch (Throwable t) {
+                    throw new FailableException(t);
+                }
+            };
+        }
+    }
+    
     /**
      * Failable consumer. 
      * 
@@ -0,0 +1,133 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+import defaultj.annotations.Default;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+public class AllocationFreeGetTest {
+    
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int ROUNDS        = 10_000;
+    
+    // Allow for the measuring itself (and the odd TLAB refill) -- a single allocating get would use > ROUNDS * 16 bytes.
+    private static final long ALLOWED_BYTES = 1024;
+    
+    public static class Config {
+        public final String name;
+        public Config(String name) {
+            this.name = name;
+        }
+    }
+    
+    public static enum Mode { Fast, @Default Safe }
+    
+    public static class Registry {
+        @Default
+        public static final Registry instance = new Registry();
+        private Registry() {}
+    }
+    
+    private final Config config = new Config("config");
+    
+    private double sink = 0;
+    
+    private final DefaultProvider provider = new DefaultProvider.Builder()
+            .bingings(new Bindings.Builder().bind(Config.class, config).build())
+            .build();
+    
+    @Test
+    public void testThat_getOfBoundInstanceDoesNotAllocate() {
+        assertEquals(config, provider.get(Config.class));
+        assertAllocationFree(()->provider.get(Config.class));
+    }
+    
+    @Test
+    public void testThat_getOfEnumValueDoesNotAllocate() {
+        assertEquals(Mode.Safe, provider.get(Mode.class));
+        assertAllocationFree(()->provider.get(Mode.class));
+    }
+    
+    @Test
+    public void testThat_getOfSingletonFieldDoesNotAllocate() {
+        assertEquals(Registry.instance, provider.get(Registry.class));
+        assertAllocationFree(()->provider.get(Registry.class));
+    }
+    
+    @Test
+    public void testThat_getOfKnownNullValueDoesNotAllocate() {
+        assertEquals(0, (int)provider.get(int.class));
+        assertAllocationFree(()->provider.get(int.class));
+    }
+    
+    @Test
+    public void testThat_primitiveGetsDoNotAllocate() {
+        val bound = provider.withBindings(new Bindings.Builder()
+                .bind(long.class,   Long.MAX_VALUE)
+                .bind(double.class, 4.2)
+                .bind(float.class,  4.2f));
+        for (val each : new DefaultProvider[] { provider, bound }) {
+            assertAllocationFree(()->{
+                sink += each.getInt() + each.getLong() + each.getDouble() + each.getFloat()
+                      + each.getByte() + each.getShort() + each.getChar() + (each.getBoolean() ? 1 : 0);
+                return null;
+            });
+        }
+        assertEquals(Long.MAX_VALUE, bound.getLong());
+    }
+    
+    private static void assertAllocationFree(Supplier<Object, RuntimeException> action) {
+        val threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        
+        val threadBean = (com.sun.management.ThreadMXBean)threadMXBean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        
+        val threadId = Thread.currentThread().getId();
+        
+        Object last = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            last = action.get();
+        }
+        
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUNDS; i++) {
+            last = action.get();
+        }
+        long after = threadBean.getThreadAllocatedBytes(threadId);
+        
+        val allocated = after - before;
+        assertTrue("Allocated " + allocated + " bytes for " + ROUNDS + " gets of " + last,
+                allocated <= ALLOWED_BYTES);
+    }
+    
+}
@@ -0,0 +1,147 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class AsyncResolutionTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    // Both pools have to be built at the same time for either to finish.
+    static CountDownLatch latch = new CountDownLatch(2);
+    
+    private static void buildTogether() {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS))
+                throw new IllegalStateException("Not built in parallel.");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    public static class ConnectionPool {
+        public ConnectionPool() {
+            buildTogether();
+        }
+    }
+    public static class Cache {
+        public Cache() {
+            buildTogether();
+        }
+    }
+    public static class Application {
+        public final ConnectionPool pool;
+        public final Cache          cache;
+        public Application(ConnectionPool pool, Cache cache) {
+            this.pool  = pool;
+            this.cache = cache;
+        }
+    }
+    public static class Pair {
+        public final Value first;
+        public final Value second;
+        public Pair(Value first, Value second) {
+            this.first  = first;
+            this.second = second;
+        }
+    }
+    public static class Value {}
+    public static interface Missing {}
+    public static class NeedMissing {
+        public NeedMissing(Missing missing, Value value) {}
+    }
+    public static class Chicken {
+        public Chicken(Egg egg) {}
+    }
+    public static class Egg {
+        public Egg(Chicken chicken) {}
+    }
+    
+    @Test
+    public void testThat_independentDependenciesAreBuiltInParallel() {
+        latch = new CountDownLatch(2);
+        val executor = Executors.newFixedThreadPool(4);
+        try {
+            val application = provider.getAsync(Application.class, executor).join();
+            assertTrue(application.pool  instanceof ConnectionPool);
+            assertTrue(application.cache instanceof Cache);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testThat_eachParameterGetsItsOwnDefault() {
+        val pair = provider.getAsync(Pair.class).join();
+        assertTrue   (pair.first  instanceof Value);
+        assertTrue   (pair.second instanceof Value);
+        assertNotSame(pair.first, pair.second);
+    }
+    
+    @Test
+    public void testThat_constantIsCompletedRightAway() {
+        val provider = this.provider.withBinding(String.class, "Text");
+        val future   = provider.getAsync(String.class);
+        assertTrue(future.isDone());
+        assertSame("Text", future.join());
+    }
+    
+    @Test
+    public void testThat_cycleFailsTheFutureRightAway() {
+        val future = provider.getAsync(Chicken.class);
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof CyclicDependencyDetectedException);
+            return;
+        }
+        throw new AssertionError("Expect a CompletionException.");
+    }
+    
+    @Test
+    public void testThat_failureOfDependencyFailsTheFuture() {
+        try {
+            provider.getAsync(NeedMissing.class).join();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof ProvideDefaultException);
+            return;
+        }
+        throw new AssertionError("Expect a CompletionException.");
+    }
+    
+}
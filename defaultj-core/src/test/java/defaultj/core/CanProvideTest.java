@@ -0,0 +1,205 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import defaultj.api.IProvideDefault;
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.bindings.TypeBinding;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import defaultj.core.strategies.IFindSupplier;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+public class CanProvideTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static interface Engine {
+        public String name();
+    }
+    public static class BasicEngine implements Engine {
+        @Override
+        public String name() {
+            return "basic";
+        }
+    }
+    public static class Car {
+        public final Engine engine;
+        public Car(Engine engine) {
+            this.engine = engine;
+        }
+    }
+    public static class Bike {
+        public final Optional<Engine> engine;
+        public Bike(Optional<Engine> engine) {
+            this.engine = engine;
+        }
+    }
+    public static class Chicken {
+        public Chicken(Egg egg) {}
+    }
+    public static class Egg {
+        public Egg(Chicken chicken) {}
+    }
+    public static class Flaky {}
+    
+    /** Fails to find the class the first time only. */
+    public static class FlakyFinder implements IFindSupplier {
+        private final AtomicInteger findCount = new AtomicInteger();
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
+                Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass != Flaky.class)
+                return null;
+            if (findCount.incrementAndGet() == 1)
+                throw new IllegalStateException("Not yet.");
+            return () -> (TYPE)new Flaky();
+        }
+    }
+    
+    @Test
+    public void testThat_concreteClassCanBeProvided() {
+        assertTrue(provider.canProvide(BasicEngine.class));
+        assertEquals("basic", provider.tryGet(BasicEngine.class).get().name());
+    }
+    
+    @Test
+    public void testThat_interfaceWithoutImplementationCannotBeProvided() {
+        assertFalse(provider.canProvide(Engine.class));
+        assertFalse(provider.tryGet(Engine.class).isPresent());
+    }
+    
+    @Test
+    public void testThat_classRequiringWhatCannotBeProvidedCannotBeProvided() {
+        assertFalse(provider.canProvide(Car.class));
+        assertFalse(provider.tryGet(Car.class).isPresent());
+        
+        try {
+            provider.get(Car.class);
+        } catch (ProvideDefaultException e) {
+            return;
+        }
+        throw new AssertionError("Expect a ProvideDefaultException.");
+    }
+    
+    @Test
+    public void testThat_optionalDependencyThatCannotBeProvidedIsEmpty() {
+        assertTrue(provider.canProvide(Bike.class));
+        assertFalse(provider.get(Bike.class).engine.isPresent());
+    }
+    
+    @Test
+    public void testThat_cyclicClassCannotBeProvided_butGetStillReportsTheCycle() {
+        assertFalse(provider.canProvide(Chicken.class));
+        assertFalse(provider.tryGet(Egg.class).isPresent());
+        
+        try {
+            provider.get(Chicken.class);
+        } catch (CyclicDependencyDetectedException e) {
+            assertEquals(3, e.getCyclePath().size());
+            return;
+        }
+        throw new AssertionError("Expect a CyclicDependencyDetectedException.");
+    }
+    
+    @Test
+    public void testThat_negativeResultIsCached() {
+        assertFalse(provider.canProvide(Car.class));
+        val resolutionCount = provider.resolutionCount();
+        val plan            = provider.planFor(Car.class);
+        
+        for (int i = 0; i < 10; i++) {
+            assertFalse(provider.canProvide(Car.class));
+            assertFalse(provider.tryGet(Car.class).isPresent());
+        }
+        assertEquals(resolutionCount, provider.resolutionCount());
+        assertEquals(SupplierPlan.NOT_PROVIDABLE, plan.providability());
+    }
+    
+    @Test
+    public void testThat_rebindingCanMakeTheClassProvidable() {
+        assertFalse(provider.canProvide(Car.class));
+        
+        provider.rebind(Engine.class, new TypeBinding<>(BasicEngine.class));
+        
+        assertTrue  (provider.canProvide(Car.class));
+        assertEquals("basic", provider.get(Car.class).engine.name());
+    }
+    
+    @Test
+    public void testThat_frozenProviderCannotProvideWhatIsNotFrozen() {
+        val frozen = provider.freeze(BasicEngine.class);
+        assertTrue (frozen.canProvide(BasicEngine.class));
+        assertFalse(frozen.canProvide(Car.class));
+        assertFalse(frozen.tryGet(Car.class).isPresent());
+    }
+    
+    @Test
+    public void testThat_eachThrowOfAKnownCycleIsANewException() {
+        val first  = cycleOf(provider, Chicken.class);
+        val second = cycleOf(provider, Chicken.class);
+        assertNotSame(first, second);
+        assertEquals (first.getCyclePath(), second.getCyclePath());
+        
+        first.addSuppressed(new IllegalStateException());
+        assertEquals(0, second.getSuppressed().length);
+    }
+    
+    @Test
+    public void testThat_stacklessCycleIsShared() {
+        val provider = this.provider.withFastFail(true);
+        assertSame(cycleOf(provider, Chicken.class), cycleOf(provider, Chicken.class));
+    }
+    
+    @Test
+    public void testThat_failingFinderIsRunAgain() {
+        val finder   = new FlakyFinder();
+        val provider = this.provider.withAdditionalSupplier(finder);
+        assertFalse(provider.canProvide(Flaky.class));
+        assertTrue (provider.canProvide(Flaky.class));
+        assertTrue (provider.get(Flaky.class) instanceof Flaky);
+        assertEquals(2, finder.findCount.get());
+    }
+    
+    private static CyclicDependencyDetectedException cycleOf(DefaultProvider provider, Class<?> theGivenClass) {
+        try {
+            provider.get(theGivenClass);
+        } catch (CyclicDependencyDetectedException e) {
+            return e;
+        }
+        throw new AssertionError("Expect a CyclicDependencyDetectedException.");
+    }
+    
+}
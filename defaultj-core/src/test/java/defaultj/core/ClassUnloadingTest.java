@@ -0,0 +1,133 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class ClassUnloadingTest {
+    
+    /** Loads the unloadable classes by itself instead of delegating to the parent. */
+    static class PluginClassLoader extends ClassLoader {
+        PluginClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith("defaultj.core.TheUnloadable"))
+                return super.loadClass(name, resolve);
+            
+            synchronized (getClassLoadingLock(name)) {
+                val loaded = findLoadedClass(name);
+                if (loaded != null)
+                    return loaded;
+                
+                val path = name.replace('.', '/') + ".class";
+                try (InputStream input = getParent().getResourceAsStream(path)) {
+                    val buffer = new ByteArrayOutputStream();
+                    val bytes  = new byte[4096];
+                    int count;
+                    while ((count = input.read(bytes)) != -1) {
+                        buffer.write(bytes, 0, count);
+                    }
+                    val classBytes = buffer.toByteArray();
+                    return defineClass(name, classBytes, 0, classBytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testResolvedClassesCanBeUnloaded() throws Exception {
+        val classRef = resolveInPlugin(DefaultProvider.instance);
+        
+        for (int i = 0; (i < 50) && (classRef.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("The plugin class should be unloadable.", classRef.get());
+    }
+    
+    @Test
+    public void testResolvedClassesWithParameterizedParameterCanBeUnloaded() throws Exception {
+        val classRef = resolveInPlugin(DefaultProvider.instance, TheUnloadableGenericClass.class);
+        
+        for (int i = 0; (i < 50) && (classRef.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("The plugin class should be unloadable.", classRef.get());
+    }
+    
+    @Test
+    public void testClassesBoundInScopeCanBeUnloaded() throws Exception {
+        val provider = new DefaultProvider();
+        val classRef = scopeInPlugin(provider);
+        
+        for (int i = 0; (i < 50) && (classRef.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("The plugin class should be unloadable.", classRef.get());
+        assertNotNull(provider.get(TheUnloadableClass.class));
+    }
+    
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static WeakReference<Class<?>> scopeInPlugin(DefaultProvider provider) throws Exception {
+        val loader         = new PluginClassLoader(ClassUnloadingTest.class.getClassLoader());
+        val pluginClzz     = loader.loadClass(TheUnloadableClass.class.getName());
+        val dependencyClzz = loader.loadClass(TheUnloadableDependency.class.getName());
+        val dependency     = dependencyClzz.getConstructor().newInstance();
+        
+        val scope = provider.scope().bind((Class)dependencyClzz, dependency).build();
+        assertSame(dependency, pluginClzz.getMethod("dependency").invoke(scope.get(pluginClzz)));
+        return new WeakReference<Class<?>>(pluginClzz);
+    }
+    
+    private static WeakReference<Class<?>> resolveInPlugin(DefaultProvider provider) throws Exception {
+        return resolveInPlugin(provider, TheUnloadableClass.class);
+    }
+    
+    private static WeakReference<Class<?>> resolveInPlugin(DefaultProvider provider, Class<?> clzz) throws Exception {
+        val loader     = new PluginClassLoader(ClassUnloadingTest.class.getClassLoader());
+        val pluginClzz = loader.loadClass(clzz.getName());
+        assertNotSame(clzz, pluginClzz);
+        
+        assertNotNull(provider.get(pluginClzz));
+        assertNotNull(provider.get(pluginClzz));
+        return new WeakReference<Class<?>>(pluginClzz);
+    }
+    
+}
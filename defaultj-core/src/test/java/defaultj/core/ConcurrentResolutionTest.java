@@ -0,0 +1,215 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.strategies.IFindSupplier;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+public class ConcurrentResolutionTest {
+    
+    public static class Service {}
+    
+    public static class SlowFinder implements IFindSupplier {
+        private final AtomicInteger  findCount = new AtomicInteger();
+        private final CountDownLatch started   = new CountDownLatch(1);
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
+                Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass != Service.class)
+                return null;
+            
+            findCount.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return () -> (TYPE)new Service();
+        }
+    }
+    
+    @Test
+    public void testConcurrentCallers_shareOneResolution() throws Exception {
+        val finder   = new SlowFinder();
+        val provider = new DefaultProvider().withAdditionalSupplier(finder);
+        val threads  = 8;
+        val executor = Executors.newFixedThreadPool(threads);
+        try {
+            val results = new ArrayList<Future<Service>>();
+            results.add(executor.submit(() -> provider.get(Service.class)));
+            finder.started.await();
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> provider.get(Service.class)));
+            }
+            for (val result : results) {
+                assertNotNull(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(1, finder.findCount.get());
+        assertEquals(1, provider.resolutionCount());
+        assertTrue(provider.contendedResolutionCount() > 0);
+    }
+    
+    public static class Left {
+        public final Supplier<Right, RuntimeException> right;
+        public Left(Supplier<Right, RuntimeException> right) {
+            this.right = right;
+        }
+    }
+    public static class Right {
+        public final Supplier<Left, RuntimeException> left;
+        public Right(Supplier<Left, RuntimeException> left) {
+            this.left = left;
+        }
+    }
+    
+    /** Finds the class by asking the other provider for the supplier of the other class -- at the same time. */
+    public static class CrossFinder implements IFindSupplier {
+        private final Class<?>                         theClass;
+        private final Class<?>                         otherClass;
+        private final AtomicReference<DefaultProvider> other;
+        private final CyclicBarrier                    barrier;
+        CrossFinder(Class<?> theClass, Class<?> otherClass, AtomicReference<DefaultProvider> other, CyclicBarrier barrier) {
+            this.theClass   = theClass;
+            this.otherClass = otherClass;
+            this.other      = other;
+            this.barrier    = barrier;
+        }
+        
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
+                Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass != theClass)
+                return null;
+            
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            val otherSupplier = (Supplier)other.get().find(otherClass, other.get());
+            return (theClass == Left.class)
+                    ? () -> (TYPE)new Left(otherSupplier)
+                    : () -> (TYPE)new Right(otherSupplier);
+        }
+    }
+    
+    @Test(timeout = 10000)
+    public void testProvidersFindingFromEachOther_doNotDeadlock() throws Exception {
+        val barrier  = new CyclicBarrier(2);
+        val leftRef  = new AtomicReference<DefaultProvider>();
+        val rightRef = new AtomicReference<DefaultProvider>();
+        leftRef .set(new DefaultProvider().withAdditionalSupplier(new CrossFinder(Left.class,  Right.class, rightRef, barrier)));
+        rightRef.set(new DefaultProvider().withAdditionalSupplier(new CrossFinder(Right.class, Left.class,  leftRef,  barrier)));
+        
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            val left  = executor.submit(() -> leftRef .get().get(Left.class));
+            val right = executor.submit(() -> rightRef.get().get(Right.class));
+            assertNotNull(left .get(5, TimeUnit.SECONDS).right.get());
+            assertNotNull(right.get(5, TimeUnit.SECONDS).left.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    public static class Config {}
+    public static class ConfiguredService {
+        public final Config config;
+        public ConfiguredService(Config config) {
+            this.config = config;
+        }
+    }
+    
+    /** Finds the config slowly -- until another thread waits for it -- and the service by getting the config right away. */
+    public static class ConfigFinder implements IFindSupplier {
+        private final AtomicReference<DefaultProvider> provider = new AtomicReference<>();
+        private final CountDownLatch                   started  = new CountDownLatch(1);
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
+                Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass == ConfiguredService.class) {
+                val config = provider.get().get(Config.class);
+                return () -> (TYPE)new ConfiguredService(config);
+            }
+            if (theGivenClass != Config.class)
+                return null;
+            
+            started.countDown();
+            try {
+                for (int i = 0; (i < 500) && (provider.get().contendedResolutionCount() == 0); i++) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return () -> (TYPE)new Config();
+        }
+    }
+    
+    @Test(timeout = 10000)
+    public void testResolvingWhileAnotherThreadResolvesTheDependency_waitsForIt() throws Exception {
+        val finder   = new ConfigFinder();
+        val provider = new DefaultProvider().withAdditionalSupplier(finder);
+        finder.provider.set(provider);
+        
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            val config = executor.submit(() -> provider.get(Config.class));
+            finder.started.await();
+            val service = executor.submit(() -> provider.get(ConfiguredService.class));
+            assertNotNull(service.get(5, TimeUnit.SECONDS).config);
+            assertNotNull(config .get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, provider.resolutionCount());
+    }
+    
+}
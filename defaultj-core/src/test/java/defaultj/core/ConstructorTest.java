@@ -21,12 +21,15 @@
 //  SOFTWARE.
 package defaultj.core;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -218,4 +221,38 @@ public class ConstructorTest {
     public void testPostConstruct() {
         assertEquals("Initialized!", provider.get(ActivePerson.class).getValue());
     }
+    
+    public static class BaseActivePerson {
+        
+        protected final List<String> calls = new ArrayList<>();
+        
+        @PostConstruct
+        private void prepare() {
+            calls.add("base-prepare");
+        }
+        
+        @PostConstruct
+        public void init() {
+            calls.add("base-init");
+        }
+        
+        public List<String> getCalls() {
+            return calls;
+        }
+    }
+    
+    public static class DerivedActivePerson extends BaseActivePerson {
+        
+        @PostConstruct
+        @Override
+        public void init() {
+            calls.add("derived-init");
+        }
+    }
+    
+    @Test
+    public void testPostConstruct_inheritedMethodsAreCalledOnce() {
+        assertEquals(asList("base-prepare", "derived-init"), provider.get(DerivedActivePerson.class).getCalls());
+        assertEquals(asList("base-prepare", "derived-init"), provider.get(DerivedActivePerson.class).getCalls());
+    }
 }
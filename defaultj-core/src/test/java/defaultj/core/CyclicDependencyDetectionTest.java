@@ -21,6 +21,9 @@
 //  SOFTWARE.
 package defaultj.core;
 
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -31,8 +34,10 @@ import java.util.function.Supplier;
 import org.junit.Test;
 
 import defaultj.annotations.Nullable;
+import defaultj.api.IProvideDefault;
 import defaultj.core.exception.CyclicDependencyDetectedException;
 import defaultj.core.exception.DefaultCreationException;
+import defaultj.core.strategies.IFindSupplier;
 import lombok.val;
 
 public class CyclicDependencyDetectionTest {
@@ -97,4 +102,81 @@ public class CyclicDependencyDetectionTest {
         assertNotNull(cyclic4);
     }
     
+    public static class CycleA {
+        public CycleA(CycleB b) {}
+    }
+    public static class CycleB {
+        public CycleB(CycleC c) {}
+    }
+    public static class CycleC {
+        public CycleC(CycleA a) {}
+    }
+    
+    @Test
+    public void testThat_cycleIsReportedWithTheWholePath() {
+        try {
+            provider.get(CycleA.class);
+            fail("Expect an exception");
+        } catch (CyclicDependencyDetectedException e) {
+            assertEquals(asList(CycleA.class, CycleB.class, CycleC.class, CycleA.class), e.getCyclePath());
+            assertTrue(e.getMessage().contains("CycleA -> "));
+        }
+    }
+    
+    @Test
+    public void testThat_cycleIsReportedWhenTheHandleIsBound() {
+        try {
+            provider.handleFor(CycleB.class);
+            fail("Expect an exception");
+        } catch (CyclicDependencyDetectedException e) {
+            assertEquals(asList(CycleB.class, CycleC.class, CycleA.class, CycleB.class), e.getCyclePath());
+        }
+    }
+    
+    public static class Leaf {}
+    public static class Branch {
+        public Branch(Leaf leaf, Optional<Leaf> optionalLeaf) {}
+    }
+    public static class Tree {
+        public Tree(Branch branch, Supplier<Leaf> leaf) {}
+    }
+    
+    @Test
+    public void testThat_acyclicGraphIsVerifiedOnceAndNeedsNoTracking() {
+        assertNotNull(provider.get(Tree.class));
+        assertTrue(provider.planFor(Tree.class).isVerified());
+        assertTrue(provider.planFor(Branch.class).isVerified());
+        assertTrue(provider.planFor(Leaf.class).isVerified());
+    }
+    
+    @Test
+    public void testThat_softCycleIsTrackedAtRuntime() {
+        assertNotNull(provider.get(Cyclic4.class));
+        assertFalse(provider.planFor(Cyclic4.class).isVerified());
+    }
+    
+    public static class Opaque {}
+    public static class DependOnOpaque {
+        public DependOnOpaque(Opaque opaque) {}
+    }
+    
+    @Test
+    public void testThat_dependencyFromCustomFinderIsTrackedAtRuntime() {
+        val opaqueProvider = provider.withAdditionalSupplier(new OpaqueFinder());
+        assertNotNull(opaqueProvider.get(DependOnOpaque.class));
+        assertFalse(opaqueProvider.planFor(Opaque.class).isVerified());
+        assertFalse(opaqueProvider.planFor(DependOnOpaque.class).isVerified());
+    }
+    
+    static class OpaqueFinder implements IFindSupplier {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE, THROWABLE extends Throwable> defaultj.core.utils.failable.Failable.Supplier<TYPE, THROWABLE>
+                find(Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass != Opaque.class)
+                return null;
+            return ()->(TYPE)new Opaque();
+        }
+    }
+    
 }
@@ -0,0 +1,94 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class DefaultHandleTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Car {
+        public String zoom() {
+            return "FLASH!";
+        }
+    }
+    
+    public static class Driver {
+        private final Car car;
+        public Driver(Car car) {
+            this.car = car;
+        }
+        public String zoom() {
+            return car.zoom();
+        }
+    }
+    
+    @Test
+    public void testHandle() {
+        val handle = provider.handleFor(Driver.class);
+        assertSame(Driver.class, handle.type());
+        
+        val driver1 = handle.get();
+        val driver2 = handle.get();
+        assertEquals("FLASH!", driver1.zoom());
+        assertNotSame(driver1, driver2);
+    }
+    
+    @Test
+    public void testHandle_withBinding() {
+        val car = new Car() {
+            @Override
+            public String zoom() {
+                return "Zoom zoom";
+            }
+        };
+        val handle = provider.withBinding(Car.class, car).handleFor(Driver.class);
+        assertEquals("Zoom zoom", handle.get().zoom());
+    }
+    
+    @Test
+    public void testHandle_primitive() {
+        assertEquals(0, provider.handleFor(int.class).get().intValue());
+    }
+    
+    public static class Cyclic {
+        public Cyclic(Cyclic another) {
+        }
+    }
+    
+    @Test(expected=CyclicDependencyDetectedException.class)
+    public void testHandle_cyclic() {
+        val handle = provider.handleFor(Cyclic.class);
+        handle.get();
+        fail("Expect an exception");
+    }
+    
+}
@@ -0,0 +1,132 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.strategies.IFindSupplier;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+public class DerivedProviderTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Engine {
+        public String name() {
+            return "engine";
+        }
+    }
+    public static class Wheel {}
+    public static class Car {
+        public final Engine engine;
+        public Car(Engine engine, Wheel wheel) {
+            this.engine = engine;
+        }
+    }
+    public static class Unrelated {}
+    public static class Menu {
+        public final List<String> items;
+        public Menu(List<String> items, Wheel wheel) {
+            this.items = items;
+        }
+    }
+    public static enum Color { Red, Green }
+    
+    public static class TurboEngine extends Engine {
+        @Override
+        public String name() {
+            return "turbo";
+        }
+    }
+    
+    @Test
+    public void testThat_derivedProviderInheritsPlansNotAffectedByTheChange() {
+        provider.get(Car.class);
+        
+        val derived = provider.withBinding(Unrelated.class, new Unrelated());
+        assertNotNull(derived.get(Car.class));
+        assertEquals(0, derived.resolutionCount());
+        assertSame(provider.planFor(Car.class), derived.planFor(Car.class));
+    }
+    
+    @Test
+    public void testThat_plansWhoseClosureHasTheChangedBindingAreNotInherited() {
+        assertEquals("engine", provider.get(Car.class).engine.name());
+        
+        val derived = provider.withBinding(Engine.class, TurboEngine.class);
+        assertEquals("turbo", derived.get(Car.class).engine.name());
+        
+        // Wheel is not affected.
+        assertSame(provider.planFor(Wheel.class), derived.planFor(Wheel.class));
+    }
+    
+    @Test
+    public void testThat_plansAskingForTheRebindedParameterizedTypeAreNotInherited() {
+        val key      = TypeKey.of(List.class, String.class);
+        val bindings = new Bindings.Builder().bind(key, asList("soup")).build();
+        val provider = this.provider.withBindings(bindings);
+        assertEquals(asList("soup"), provider.get(Menu.class).items);
+        
+        val same = provider.withBindings(new Bindings.Builder().bind(bindings).bind(Unrelated.class, new Unrelated()));
+        assertEquals(asList("soup"), same.get(Menu.class).items);
+        assertSame  (provider.planFor(Menu.class), same.planFor(Menu.class));
+        
+        val derived = provider.withBindings(new Bindings.Builder().bind(key, asList("salad")));
+        assertEquals(asList("salad"), derived.get(Menu.class).items);
+    }
+    
+    @Test
+    public void testThat_changingFindersOnlyKeepsPlansFoundBeforeTheAdditionalFinders() {
+        provider.get(Car.class);
+        provider.get(Color.class);
+        
+        val derived = provider.withAdditionalSupplier(new WheelFinder());
+        assertTrue(derived.get(Car.class) != null);
+        assertTrue(derived.resolutionCount() > 0);
+        assertSame(WheelFinder.wheel, derived.get(Wheel.class));
+        
+        assertSame(provider.planFor(Color.class), derived.planFor(Color.class));
+    }
+    
+    static class WheelFinder implements IFindSupplier {
+        static final Wheel wheel = new Wheel();
+        @SuppressWarnings("unchecked")
+        @Override
+        public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE> find(
+                Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+            if (theGivenClass != Wheel.class)
+                return null;
+            return ()->(TYPE)wheel;
+        }
+    }
+    
+}
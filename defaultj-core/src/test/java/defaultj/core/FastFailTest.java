@@ -0,0 +1,151 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.AbstractClassCreationException;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class FastFailTest {
+    
+    public static interface Service {}
+    
+    public static class Broken {
+        public Broken() {
+            throw new IllegalStateException("Broken!");
+        }
+    }
+    
+    public static class Loop {
+        public Loop(Loop loop) {}
+    }
+    
+    private static ProvideDefaultException failureOf(DefaultProvider provider, Class<?> clazz) {
+        try {
+            provider.get(clazz);
+        } catch (ProvideDefaultException e) {
+            return e;
+        }
+        throw new AssertionError("Expect a ProvideDefaultException.");
+    }
+    
+    @Test
+    public void testThat_exceptionsAreStacklessInFastFailMode() {
+        val provider = new DefaultProvider().withFastFail(true);
+        assertTrue(provider.isFastFail());
+        
+        val failure = failureOf(provider, Service.class);
+        assertTrue  (failure instanceof AbstractClassCreationException);
+        assertTrue  (failure.isStackless());
+        assertEquals(0, failure.getStackTrace().length);
+        assertEquals("Abstract class can't be created: " + Service.class, failure.getMessage());
+        
+        val wrapped = failureOf(provider, Broken.class);
+        assertTrue  (wrapped.isStackless());
+        assertEquals(Broken.class.getCanonicalName(), wrapped.getMessage());
+        assertEquals("Broken!", wrapped.getCause().getCause().getMessage());
+    }
+    
+    @Test
+    public void testThat_abstractClassFailureIsPreallocatedInFastFailMode() {
+        val provider = new DefaultProvider().withFastFail(true);
+        assertSame(failureOf(provider, Service.class), failureOf(provider, Service.class));
+    }
+    
+    @Test
+    public void testThat_exceptionsHaveStackTraceByDefault() {
+        val provider = new DefaultProvider();
+        assertFalse(provider.isFastFail());
+        
+        val failure = failureOf(provider, Service.class);
+        assertFalse    (failure.isStackless());
+        assertNotEquals(0, failure.getStackTrace().length);
+        assertEquals   ("Abstract class can't be created: " + Service.class, failure.getMessage());
+    }
+    
+    @Test
+    public void testThat_fastFailModeIsKeptByDerivedProviders() {
+        val provider = new DefaultProvider().withFastFail(true);
+        val derived  = provider.withBinding(String.class, "Text");
+        assertTrue(derived.isFastFail());
+        assertTrue(failureOf(derived, Service.class).isStackless());
+        
+        val normal = derived.withFastFail(false);
+        assertFalse(failureOf(normal, Service.class).isStackless());
+    }
+    
+    @Test
+    public void testThat_fullStackTraceCanBeTurnedOnPerProviderForDebugging() {
+        val provider  = new DefaultProvider().withFastFail(true);
+        val debugging = provider.withFullStackTrace(true);
+        assertTrue(debugging.isFastFail());
+        
+        val failure = failureOf(debugging, Service.class);
+        assertFalse    (failure.isStackless());
+        assertNotEquals(0, failure.getStackTrace().length);
+        assertNotSame  (failure, failureOf(debugging, Service.class));
+        
+        // The other providers are not affected.
+        assertTrue(failureOf(provider, Service.class).isStackless());
+    }
+    
+    @Test
+    public void testThat_sharedStacklessExceptionDoesNotCollectSuppressed() {
+        val provider = new DefaultProvider().withFastFail(true);
+        val failure  = failureOf(provider, Service.class);
+        failure.addSuppressed(new RuntimeException());
+        assertEquals(0, failureOf(provider, Service.class).getSuppressed().length);
+    }
+    
+    @Test
+    public void testThat_handleFailsStacklessInFastFailMode() {
+        val provider = new DefaultProvider().withFastFail(true);
+        val handle   = provider.handleFor(Broken.class);
+        try {
+            handle.get();
+            fail("Expect a ProvideDefaultException.");
+        } catch (ProvideDefaultException e) {
+            assertTrue(e.isStackless());
+        }
+    }
+    
+    @Test
+    public void testThat_cycleIsStacklessInFastFailMode() {
+        val provider = new DefaultProvider().withFastFail(true);
+        val failure  = failureOf(provider, Loop.class);
+        assertTrue  (failure instanceof CyclicDependencyDetectedException);
+        assertTrue  (failure.isStackless());
+        assertEquals(0, failure.getStackTrace().length);
+    }
+    
+}
@@ -0,0 +1,129 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.bindings.FactoryBinding;
+import defaultj.core.exception.ClassNotFrozenException;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class FrozenProviderTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Engine {
+        public String name() {
+            return "engine";
+        }
+    }
+    public static class TurboEngine extends Engine {
+        @Override
+        public String name() {
+            return "turbo";
+        }
+    }
+    public static class Wheel {}
+    public static class Car {
+        public final Engine engine;
+        public Car(Engine engine, Wheel wheel, Optional<Wheel> spare) {
+            this.engine = engine;
+        }
+    }
+    public static class Unrelated {}
+    
+    public static class Loop {
+        public Loop(Loop loop) {}
+    }
+    
+    @Test
+    public void testThat_frozenProviderProvidesTheReachableGraph() {
+        val frozen = provider.freeze(Car.class);
+        assertEquals("engine", frozen.get(Car.class).engine.name());
+        assertTrue (frozen.isFrozen(Car.class));
+        assertTrue (frozen.isFrozen(Engine.class));
+        assertTrue (frozen.isFrozen(Wheel.class));
+        assertFalse(frozen.isFrozen(Unrelated.class));
+        
+        // The dynamic provider is never consulted.
+        assertEquals(0, provider.resolutionCount());
+    }
+    
+    @Test
+    public void testThat_frozenProviderUsesTheBindings() {
+        val frozen = provider.withBinding(Engine.class, TurboEngine.class).freeze(Car.class);
+        assertEquals("turbo", frozen.get(Car.class).engine.name());
+        assertTrue(frozen.isFrozen(TurboEngine.class));
+    }
+    
+    @Test(expected=ClassNotFrozenException.class)
+    public void testThat_classNotFrozenFailsFast() {
+        val frozen = provider.freeze(Car.class);
+        frozen.get(Unrelated.class);
+    }
+    
+    @Test
+    public void testThat_classNotFrozenCanFallbackToTheDynamicProvider() {
+        val frozen = provider.freeze(true, Car.class);
+        assertNotNull(frozen.get(Unrelated.class));
+    }
+    
+    @Test(expected=CyclicDependencyDetectedException.class)
+    public void testThat_cycleIsDetectedWhenFrozen() {
+        provider.freeze(Loop.class);
+    }
+    
+    @Test
+    public void testThat_opaqueBindingIsNotFrozen_andCanProvideAgreesWithGet() {
+        val frozen = provider
+                .withBinding(Engine.class, new FactoryBinding<Engine>(p -> new TurboEngine()))
+                .freeze(Car.class);
+        assertFalse(frozen.isFrozen(Engine.class));
+        assertFalse(frozen.canProvide(Engine.class));
+        assertFalse(frozen.canProvide(Car.class));
+        try {
+            frozen.get(Car.class);
+            fail("Expect an exception.");
+        } catch (ProvideDefaultException e) {
+        }
+    }
+    
+    @Test
+    public void testThat_opaqueBindingCanFallbackToTheDynamicProvider() {
+        val frozen = provider
+                .withBinding(Engine.class, new FactoryBinding<Engine>(p -> new TurboEngine()))
+                .freeze(true, Car.class);
+        assertTrue  (frozen.canProvide(Car.class));
+        assertEquals("turbo", frozen.get(Car.class).engine.name());
+    }
+    
+}
@@ -0,0 +1,123 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import defaultj.api.ProvideDefaultException;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class GetAllTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Config {}
+    public static class Repository {
+        public final Config config;
+        public Repository(Config config) {
+            this.config = config;
+        }
+    }
+    public static class Service {
+        public final Repository repository;
+        public Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+    public static interface Missing {}
+    public static class Chicken {
+        public Chicken(Egg egg) {}
+    }
+    public static class Egg {
+        public Egg(Chicken chicken) {}
+    }
+    
+    @Test
+    public void testThat_allDefaultsAreProvidedInOrder() {
+        val batch = provider.getAll(Service.class, Repository.class, Config.class);
+        
+        assertTrue  (batch.isSuccessful());
+        assertEquals(3, batch.size());
+        assertTrue  (batch.values()[0] instanceof Service);
+        assertTrue  (batch.values()[1] instanceof Repository);
+        assertTrue  (batch.values()[2] instanceof Config);
+        assertTrue  (batch.get(Service.class).repository.config instanceof Config);
+        assertEquals(3, batch.asMap().size());
+    }
+    
+    @Test
+    public void testThat_sharedDependenciesAreResolvedOnce() {
+        provider.getAll(Service.class, Repository.class, Config.class);
+        val resolutionCount = provider.resolutionCount();
+        
+        provider.getAll(Service.class, Repository.class, Config.class);
+        assertEquals(3, resolutionCount);
+        assertEquals(resolutionCount, provider.resolutionCount());
+    }
+    
+    @Test
+    public void testThat_failuresAreReportedPerClassWithoutStoppingTheBatch() {
+        val batch = provider.getAll(Missing.class, Service.class, Chicken.class, Config.class);
+        
+        assertFalse (batch.isSuccessful());
+        assertEquals(2, batch.failures().size());
+        assertTrue  (batch.failures().get(Chicken.class) instanceof CyclicDependencyDetectedException);
+        assertTrue  (batch.failures().containsKey(Missing.class));
+        assertNull  (batch.values()[0]);
+        assertTrue  (batch.get(Service.class) instanceof Service);
+        assertTrue  (batch.get(Config.class)  instanceof Config);
+        assertEquals(2, batch.asMap().size());
+        
+        try {
+            batch.get(Missing.class);
+        } catch (ProvideDefaultException e) {
+            assertSame(batch.failures().get(Missing.class), e);
+            return;
+        }
+        throw new AssertionError("Expect a ProvideDefaultException.");
+    }
+    
+    @Test
+    public void testThat_duplicatedClassesAreProvidedOnce() {
+        val batch = provider.getAll(Config.class, Config.class);
+        assertEquals(1, batch.size());
+    }
+    
+    @Test
+    public void testThat_noResolutionContextIsLeftAfterTheBatch() {
+        provider.getAll(Service.class, Missing.class);
+        assertNull(ResolutionContext.current());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThat_classNotInTheBatchIsRejected() {
+        provider.getAll(Config.class).get(Service.class);
+    }
+    
+}
@@ -0,0 +1,191 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class InitializeAllTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    /** Lets the classes through only once all of them are being initialized at the same time -- bound per test. */
+    public static class Rendezvous {
+        private final CountDownLatch latch;
+        public Rendezvous(int count) {
+            this.latch = new CountDownLatch(count);
+        }
+        void arrive() {
+            latch.countDown();
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS))
+                    throw new IllegalStateException("Not initialized in parallel.");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    public static class Repository {
+        public Repository(Rendezvous rendezvous) {
+            rendezvous.arrive();
+        }
+    }
+    public static class Config {
+        public Config(Rendezvous rendezvous) {
+            rendezvous.arrive();
+        }
+    }
+    public static class UserService {
+        public UserService(Repository repository) {}
+    }
+    public static class ConfigService {
+        public ConfigService(Config config) {}
+    }
+    public static class Application {
+        public Application(UserService userService, ConfigService configService) {}
+    }
+    
+    public static class Leaf {}
+    public static class Branch {
+        public Branch(Leaf leaf) {}
+    }
+    public static class Tree {
+        public Tree(Branch branch, Leaf leaf) {}
+    }
+    
+    static final AtomicInteger seedCount = new AtomicInteger();
+    public static class Seed {
+        public Seed() {
+            seedCount.incrementAndGet();
+        }
+    }
+    public static class Sprout {
+        public Sprout(Seed seed) {}
+    }
+    public static class Plant {
+        public Plant(Sprout sprout) {}
+    }
+    
+    /** Counts the defaults created -- bound per test. */
+    public static class Creations {
+        private final Map<Class<?>, Integer> counts = new ConcurrentHashMap<Class<?>, Integer>();
+        void add(Object created) {
+            counts.merge(created.getClass(), 1, Integer::sum);
+        }
+        int of(Class<?> clzz) {
+            return counts.getOrDefault(clzz, 0);
+        }
+    }
+    public static class Root {
+        public Root(Creations creations) {
+            creations.add(this);
+        }
+    }
+    public static class Stem {
+        public Stem(Root root, Creations creations) {
+            creations.add(this);
+        }
+    }
+    public static class Flower {
+        public Flower(Stem stem, Root root, Creations creations) {
+            creations.add(this);
+        }
+    }
+    
+    public static interface Missing {}
+    public static class NeedMissing {
+        public NeedMissing(Missing missing) {}
+    }
+    
+    @Test
+    public void testThat_classesAreInitializedInTopologicalLayers() {
+        val report = provider.initializeAll(asList(Tree.class), 1);
+        
+        assertTrue  (report.isSuccessful());
+        assertEquals(asList(asList(Leaf.class), asList(Branch.class), asList(Tree.class)), report.layers());
+        assertEquals(asList(Tree.class, Branch.class, Leaf.class), report.criticalPath());
+        assertEquals(3, report.durations().size());
+        assertTrue  (report.criticalPathNanos() <= report.totalNanos());
+    }
+    
+    @Test
+    public void testThat_classesOfALayerAreInitializedInParallel() {
+        val provider = this.provider.withBinding(Rendezvous.class, new Rendezvous(2));
+        val report   = provider.initializeAll(asList(Application.class), 2);
+        
+        assertTrue  (report.isSuccessful());
+        assertEquals(asList(Repository.class, Config.class), report.layers().get(1));
+        assertEquals(Application.class, report.criticalPath().get(0));
+        assertEquals(4, report.criticalPath().size());
+    }
+    
+    @Test
+    public void testThat_failuresAreReportedWithoutStoppingTheOthers() {
+        val report = provider.initializeAll(asList(NeedMissing.class, Tree.class), 2);
+        
+        assertFalse(report.isSuccessful());
+        assertTrue (report.failures().containsKey(Missing.class));
+        assertTrue (report.failures().containsKey(NeedMissing.class));
+        assertFalse(report.failures().containsKey(Tree.class));
+        assertTrue (report.durations().containsKey(Tree.class));
+    }
+    
+    @Test
+    public void testThat_defaultsOfTheEarlierLayersAreGivenToTheLaterOnes() {
+        seedCount.set(0);
+        val report = provider.initializeAll(asList(Plant.class), 1);
+        
+        assertTrue  (report.isSuccessful());
+        assertEquals(1, seedCount.get());
+    }
+    
+    @Test
+    public void testThat_noDefaultIsCreatedOnlyToBeDropped_andTimeIsOfTheOwnCreation() {
+        val creations = new Creations();
+        val provider  = this.provider.withBinding(Creations.class, creations);
+        val report    = provider.initializeAll(asList(Flower.class), 2);
+        
+        // Each parameter gets its own default -- the one initialized ahead is given to one of them.
+        assertTrue  (report.isSuccessful());
+        assertEquals(2, creations.of(Root.class));
+        assertEquals(1, creations.of(Stem.class));
+        assertEquals(1, creations.of(Flower.class));
+        
+        val durations = report.durations();
+        val pathNanos = report.criticalPath().stream().mapToLong(durations::get).sum();
+        assertEquals(pathNanos, report.criticalPathNanos());
+    }
+    
+}
@@ -0,0 +1,157 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import defaultj.annotations.PostConstruct;
+import defaultj.api.IProvideDefault;
+import defaultj.core.strategies.IFindSupplier;
+import defaultj.core.utils.failable.Failable.Supplier;
+import lombok.val;
+
+public class PlanSnapshotTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    public static class Config {
+        public boolean isStarted = false;
+        @PostConstruct
+        public void start() {
+            isStarted = true;
+        }
+    }
+    public static class Repository {
+        public final Config config;
+        public Repository(Config config) {
+            this.config = config;
+        }
+    }
+    public static class Service {
+        public final Repository repository;
+        public Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+    
+    public static interface Startable {
+        @PostConstruct
+        public default void ready() {}
+    }
+    public static class BaseEngine {
+        public boolean isStarted = false;
+        @PostConstruct
+        public void start() {
+            isStarted = true;
+        }
+    }
+    public static class Engine extends BaseEngine implements Startable {}
+    
+    private Path writeSnapshot() throws Exception {
+        val file     = folder.getRoot().toPath().resolve("plans.snapshot");
+        val provider = new DefaultProvider();
+        provider.get(Service.class);
+        assertEquals(3, provider.writeSnapshot(file));
+        return file;
+    }
+    
+    @Test
+    public void testThat_suppliersAreRebuiltFromTheSnapshot() throws Exception {
+        val file     = writeSnapshot();
+        val provider = new DefaultProvider();
+        assertTrue(provider.loadSnapshot(file));
+        
+        val service = provider.get(Service.class);
+        assertTrue  (service.repository.config.isStarted);
+        assertEquals(3, provider.snapshotHitCount());
+        assertTrue  (provider.planFor(Service.class).isVerified());
+    }
+    
+    @Test
+    public void testThat_corruptedSnapshotIsNotUsed() throws Exception {
+        val file  = writeSnapshot();
+        val bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0xFF;
+        Files.write(file, bytes);
+        
+        val provider = new DefaultProvider();
+        assertFalse (provider.loadSnapshot(file));
+        assertTrue  (provider.get(Service.class).repository.config.isStarted);
+        assertEquals(0, provider.snapshotHitCount());
+    }
+    
+    @Test
+    public void testThat_snapshotOfAnotherConfigurationIsNotUsed() throws Exception {
+        val file     = writeSnapshot();
+        val finder   = (IFindSupplier)new IFindSupplier() {
+            @Override
+            public <TYPE, THROWABLE extends Throwable> Supplier<TYPE, THROWABLE>
+                    find(Class<TYPE> theGivenClass, IProvideDefault defaultProvider) {
+                return null;
+            }
+        };
+        val provider = new DefaultProvider().withAdditionalSupplier(finder);
+        assertFalse(provider.loadSnapshot(file));
+    }
+    
+    @Test
+    public void testThat_missingSnapshotIsNotLoaded() throws Exception {
+        val provider = new DefaultProvider();
+        assertFalse(provider.loadSnapshot(folder.getRoot().toPath().resolve("none.snapshot")));
+    }
+    
+    @Test
+    public void testThat_classFileHashIsStable() {
+        assertEquals(PlanSnapshot.classFileHashOf(Service.class), PlanSnapshot.classFileHashOf(Service.class));
+        assertTrue  (PlanSnapshot.classFileHashOf(Service.class) != PlanSnapshot.classFileHashOf(Repository.class));
+    }
+    
+    @Test
+    public void testThat_hashCoversTheSuperClassesAndInterfaces() {
+        assertEquals(PlanSnapshot.classFileHashOf(Service.class), PlanSnapshot.hierarchyHashOf(Service.class));
+        assertTrue  (PlanSnapshot.classFileHashOf(Engine.class) != PlanSnapshot.hierarchyHashOf(Engine.class));
+    }
+    
+    @Test
+    public void testThat_inheritedPostConstructIsRebuiltFromTheSnapshot() throws Exception {
+        val file   = folder.getRoot().toPath().resolve("engine.snapshot");
+        val writer = new DefaultProvider();
+        writer.get(Engine.class);
+        assertEquals(1, writer.writeSnapshot(file));
+        
+        val provider = new DefaultProvider();
+        assertTrue  (provider.loadSnapshot(file));
+        assertTrue  (provider.get(Engine.class).isStarted);
+        assertEquals(1, provider.snapshotHitCount());
+    }
+    
+}
@@ -0,0 +1,128 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import defaultj.annotations.Named;
+import defaultj.core.exception.CyclicDependencyDetectedException;
+import lombok.val;
+
+public class PreloadTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    static final AtomicInteger createdCount = new AtomicInteger();
+    
+    public static class Config {
+        public Config() {
+            createdCount.incrementAndGet();
+        }
+    }
+    public static class Repository {
+        public Repository(Config config) {
+            createdCount.incrementAndGet();
+        }
+    }
+    public static class Service {
+        public Service(Repository repository, Config config) {
+            createdCount.incrementAndGet();
+        }
+    }
+    public static class MainRepository extends Repository {
+        public MainRepository(Config config) {
+            super(config);
+        }
+    }
+    public static class Dashboard {
+        public Dashboard(@Named("main") Repository repository) {}
+    }
+    public static class Chicken {
+        public Chicken(Egg egg) {}
+    }
+    public static class Egg {
+        public Egg(Chicken chicken) {}
+    }
+    
+    @Test
+    public void testThat_plansAreCachedWithoutCreatingAnything() {
+        createdCount.set(0);
+        val report = provider.preload(Service.class);
+        
+        assertEquals(0, createdCount.get());
+        assertEquals(3, report.classCount());
+        assertEquals(3, report.resolvedCount());
+        assertTrue  (report.problems().isEmpty());
+        assertTrue  (provider.planFor(Service.class).isVerified());
+        
+        provider.get(Service.class);
+        assertEquals(3, provider.resolutionCount());
+    }
+    
+    @Test
+    public void testThat_preloadingAgainResolvesNothing() {
+        provider.preload(Service.class);
+        val report = provider.preload(Service.class);
+        assertEquals(0, report.resolvedCount());
+    }
+    
+    @Test
+    public void testThat_plansCanBePreloadedInParallel() {
+        createdCount.set(0);
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            val report = provider.preload(executor, Service.class, Chicken.class);
+            
+            assertEquals(0, createdCount.get());
+            assertEquals(5, report.classCount());
+            assertEquals(5, provider.resolutionCount());
+            assertTrue  (report.problems().get(Chicken.class) instanceof CyclicDependencyDetectedException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testThat_qualifiedDependencyPreloadsTheBoundClass() {
+        val provider = this.provider.withBindings(new Bindings.Builder()
+                .bind(Repository.class, "main", MainRepository.class));
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            for (val report : asList(provider.preload(Dashboard.class), provider.preload(executor, Dashboard.class))) {
+                assertTrue (report.durations().containsKey(MainRepository.class));
+                assertTrue (report.durations().containsKey(Config.class));
+                assertFalse(report.durations().containsKey(Repository.class));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+}
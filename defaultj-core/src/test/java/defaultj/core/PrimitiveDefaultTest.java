@@ -0,0 +1,100 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import defaultj.api.IProvideDefault;
+import lombok.val;
+
+public class PrimitiveDefaultTest {
+    
+    @Test
+    public void testThat_primitiveDefaultsAreTheirNullValues() {
+        val provider = new DefaultProvider();
+        assertEquals(0,   provider.getInt());
+        assertEquals(0L,  provider.getLong());
+        assertEquals(0.0, provider.getDouble(), 0.0);
+        assertFalse (provider.getBoolean());
+        assertEquals(0,    provider.getByte());
+        assertEquals(0,    provider.getShort());
+        assertEquals(' ',  provider.getChar());
+        assertEquals(0.0f, provider.getFloat(), 0.0f);
+    }
+    
+    @Test
+    public void testThat_boundPrimitivesAreReturned() {
+        val provider = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(int.class,     42)
+                        .bind(long.class,    42L)
+                        .bind(double.class,  4.2)
+                        .bind(boolean.class, true)
+                        .bind(byte.class,    (byte)4)
+                        .bind(short.class,   (short)42)
+                        .bind(char.class,    'D')
+                        .bind(float.class,   4.2f));
+        assertEquals(42,   provider.getInt());
+        assertEquals(42L,  provider.getLong());
+        assertEquals(4.2,  provider.getDouble(), 0.0);
+        assertTrue  (provider.getBoolean());
+        assertEquals(4,    provider.getByte());
+        assertEquals(42,   provider.getShort());
+        assertEquals('D',  provider.getChar());
+        assertEquals(4.2f, provider.getFloat(), 0.0f);
+    }
+    
+    @Test
+    public void testThat_primitiveSuppliersReturnTheDefaults() {
+        val provider = new DefaultProvider().withBinding(int.class, 7);
+        val supplier = provider.intSupplier().toIntSupplier();
+        assertEquals(7,   supplier.getAsInt());
+        assertEquals(0L,  provider.longSupplier().toLongSupplier().getAsLong());
+        assertEquals(0.0, provider.doubleSupplier().toDoubleSupplier().getAsDouble(), 0.0);
+        assertFalse (provider.booleanSupplier().toBooleanSupplier().getAsBoolean());
+    }
+    
+    @Test
+    public void testThat_primitiveDefaultsAreResolvedOnce() {
+        val provider = new DefaultProvider();
+        provider.getInt();
+        val count = provider.resolutionCount();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, provider.getInt());
+        }
+        assertEquals(count, provider.resolutionCount());
+    }
+    
+    @Test
+    public void testThat_otherProvidersGetPrimitivesThroughGet() {
+        IProvideDefault provider = new DefaultProvider().withBinding(long.class, 5L)::get;
+        assertEquals(5L,   provider.getLong());
+        assertEquals(0,    provider.getInt());
+        assertEquals(' ',  provider.getChar());
+        assertEquals(0.0f, provider.getFloat(), 0.0f);
+    }
+    
+}
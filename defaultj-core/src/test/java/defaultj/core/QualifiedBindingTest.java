@@ -0,0 +1,196 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import defaultj.annotations.Default;
+import defaultj.annotations.Named;
+import defaultj.core.utils.MethodSupplierFinderUtils;
+import lombok.val;
+
+public class QualifiedBindingTest {
+    
+    public static interface Source {
+        public String name();
+    }
+    public static class NamedSource implements Source {
+        private final String name;
+        public NamedSource(String name) {
+            this.name = name;
+        }
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+    public static class FallbackSource implements Source {
+        @Override
+        public String name() {
+            return "fallback";
+        }
+    }
+    
+    public static class Replicator {
+        public final Source           primary;
+        public final Source           replica;
+        public final Supplier<Source> lazyReplica;
+        public Replicator(
+                @Named("primary") Source           primary,
+                @Named("replica") Source           replica,
+                @Named("replica") Supplier<Source> lazyReplica) {
+            this.primary     = primary;
+            this.replica     = replica;
+            this.lazyReplica = lazyReplica;
+        }
+    }
+    
+    public static class Report {
+        public final Source source;
+        private Report(Source source) {
+            this.source = source;
+        }
+        @Default
+        public static final Report newReport(@Named("replica") Source source) {
+            return new Report(source);
+        }
+    }
+    
+    /** Holds another annotation named {@code Named} -- like javax.inject.Named. */
+    public static class Inject {
+        @Target(value=ElementType.PARAMETER)
+        @Retention(RetentionPolicy.RUNTIME)
+        public static @interface Named {
+            public String value();
+        }
+    }
+    
+    public static class Mirror {
+        public final Source source;
+        public Mirror(@Inject.Named("primary") Source source) {
+            this.source = source;
+        }
+    }
+    
+    public static class Archive {
+        public final Source source;
+        public Archive(@Named("archive") Source source) {
+            this.source = source;
+        }
+    }
+    
+    public static class Screen {}
+    public static class Console {
+        public final Source source;
+        public Console(@Named("main") Source source, Screen screen) {
+            this.source = source;
+        }
+    }
+    
+    private final NamedSource primary = new NamedSource("primary");
+    private final NamedSource replica = new NamedSource("replica");
+    
+    private final Bindings bindings = new Bindings.Builder()
+            .bind(Source.class, "primary", primary)
+            .bind(Source.class, "replica", (IBind<Source>)(p -> replica))
+            .bind(Source.class, "main",    primary)
+            .bind(Source.class, FallbackSource.class)
+            .build();
+    
+    private final DefaultProvider provider = new DefaultProvider().withBindings(bindings);
+    
+    @Test
+    public void testThat_qualifiedParametersAreGivenTheirBindings() {
+        val replicator = provider.get(Replicator.class);
+        assertSame(primary, replicator.primary);
+        assertSame(replica, replicator.replica);
+        assertSame(replica, replicator.lazyReplica.get());
+    }
+    
+    @Test
+    public void testThat_anyAnnotationNamedNamedQualifies() {
+        assertSame(primary, provider.get(Mirror.class).source);
+    }
+    
+    @Test
+    public void testThat_factoryMethodParametersCanBeQualified() {
+        assertSame(replica, provider.get(Report.class).source);
+    }
+    
+    @Test
+    public void testThat_unboundNameFallsBackToTheClass() {
+        assertEquals("fallback", provider.get(Archive.class).source.name());
+        assertEquals("fallback", ((Source)provider.get(TypeKey.of(Source.class).named("other"))).name());
+    }
+    
+    @Test
+    public void testThat_qualifierIsResolvedIntoThePlan() throws Exception {
+        val constructor = Replicator.class.getConstructor(Source.class, Source.class, Supplier.class);
+        val slots       = MethodSupplierFinderUtils.injectionPlanOf(constructor).slots();
+        assertSame  (TypeKey.of(Source.class).named("primary"), slots.get(0).typeKey());
+        assertSame  (TypeKey.of(Source.class).named("replica"), slots.get(1).typeKey());
+        assertSame  (TypeKey.of(Source.class).named("replica"), slots.get(2).typeKey());
+        assertEquals("@Named(\"primary\") " + Source.class.getName(), slots.get(0).typeKey().toString());
+    }
+    
+    @Test
+    public void testThat_derivedProviderUsesItsOwnQualifiedBinding() {
+        assertSame(primary, provider.get(Console.class).source);
+        
+        val derived = provider.withBindings(new Bindings.Builder()
+                .bind(bindings)
+                .bind(Source.class, "main", replica));
+        assertSame(replica, derived.get(Console.class).source);
+    }
+    
+    @Test
+    public void testThat_frozenProviderUsesTheQualifiedBinding() {
+        val frozen = provider.freeze(Console.class, Archive.class);
+        assertSame  (primary,    frozen.get(Console.class).source);
+        assertEquals("fallback", frozen.get(Archive.class).source.name());
+        assertTrue  (frozen.isFrozen(FallbackSource.class));
+    }
+    
+    @Test
+    public void testThat_opaqueQualifiedBindingIsNotFrozen() {
+        val frozen = provider.freeze(Replicator.class);
+        assertFalse(frozen.isFrozen(Replicator.class));
+        assertFalse(frozen.canProvide(Replicator.class));
+    }
+    
+    @Test
+    public void testThat_asyncResolutionUsesTheQualifiedBinding() {
+        assertSame(primary, provider.getAsync(Console.class).join().source);
+    }
+    
+}
@@ -0,0 +1,116 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import defaultj.core.bindings.InstanceBinding;
+import defaultj.core.bindings.TypeBinding;
+import lombok.val;
+
+public class RebindTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Engine {
+        public String name() {
+            return "engine";
+        }
+    }
+    public static class TurboEngine extends Engine {
+        @Override
+        public String name() {
+            return "turbo";
+        }
+    }
+    public static class Wheel {}
+    public static class Car {
+        public final Engine engine;
+        public Car(Engine engine, Wheel wheel) {
+            this.engine = engine;
+        }
+    }
+    public static class Garage {
+        public final Car car;
+        public Garage(Car car) {
+            this.car = car;
+        }
+    }
+    
+    @Test
+    public void testThat_rebindingChangesTheDefaultOfTheDependents() {
+        assertEquals("engine", provider.get(Garage.class).car.engine.name());
+        
+        provider.rebind(Engine.class, new TypeBinding<>(TurboEngine.class));
+        assertEquals("turbo", provider.get(Garage.class).car.engine.name());
+        
+        val engine = new Engine() {
+            @Override
+            public String name() {
+                return "custom";
+            }
+        };
+        provider.rebind(Engine.class, new InstanceBinding<>(engine));
+        assertSame  (engine,   provider.get(Engine.class));
+        assertEquals("custom", provider.get(Garage.class).car.engine.name());
+    }
+    
+    @Test
+    public void testThat_onlyPlansDependingOnTheReboundClassAreDropped() {
+        provider.get(Garage.class);
+        val wheelPlan  = provider.planFor(Wheel.class);
+        val garagePlan = provider.planFor(Garage.class);
+        
+        provider.rebind(Engine.class, new TypeBinding<>(TurboEngine.class));
+        
+        assertSame   (wheelPlan,  provider.planFor(Wheel.class));
+        assertNotSame(garagePlan, provider.planFor(Garage.class));
+    }
+    
+    @Test
+    public void testThat_derivedProviderKeepsTheBindingsItWasDerivedWith() {
+        provider.get(Garage.class);
+        val derived = provider.withAdditionalSupplier();
+        assertEquals("engine", derived.get(Garage.class).car.engine.name());
+        
+        provider.rebind(Engine.class, new TypeBinding<>(TurboEngine.class));
+        
+        assertEquals("turbo",  provider.get(Garage.class).car.engine.name());
+        assertEquals("engine", derived .get(Garage.class).car.engine.name());
+    }
+    
+    @Test
+    public void testThat_scopeOpenedAfterRebindingUsesTheNewBinding() {
+        val before = provider.scope().bind(Wheel.class, new Wheel()).build();
+        assertEquals("engine", before.get(Garage.class).car.engine.name());
+        
+        provider.rebind(Engine.class, new TypeBinding<>(TurboEngine.class));
+        
+        val after = provider.scope().bind(Wheel.class, new Wheel()).build();
+        assertEquals("turbo", after.get(Garage.class).car.engine.name());
+    }
+    
+}
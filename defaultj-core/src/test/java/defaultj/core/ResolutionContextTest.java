@@ -0,0 +1,78 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import defaultj.api.ProvideDefaultException;
+
+public class ResolutionContextTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class Tracked {
+        public final boolean hasContext = (ResolutionContext.current() != null);
+        public Tracked(Supplier<Tracked> self) {}
+    }
+    
+    public static class Verified {
+        public final boolean hasContext = (ResolutionContext.current() != null);
+    }
+    
+    public static class Failing {
+        public Failing(Supplier<Failing> self) {
+            self.get();
+        }
+    }
+    
+    @Test
+    public void testThat_contextOnlyExistsWhileTrackedDefaultIsCreated() {
+        assertNull(ResolutionContext.current());
+        assertTrue(provider.get(Tracked.class).hasContext);
+        assertNull(ResolutionContext.current());
+    }
+    
+    @Test
+    public void testThat_verifiedDefaultIsCreatedWithoutContext() {
+        assertFalse(provider.get(Verified.class).hasContext);
+        assertNull(ResolutionContext.current());
+    }
+    
+    @Test
+    public void testThat_contextIsRemovedWhenCreationFails() {
+        try {
+            provider.get(Failing.class);
+            fail("Expect an exception");
+        } catch (ProvideDefaultException e) {
+            // Expected.
+        }
+        assertNull(ResolutionContext.current());
+    }
+    
+}
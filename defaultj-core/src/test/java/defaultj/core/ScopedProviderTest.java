@@ -0,0 +1,172 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import defaultj.api.IProvideDefault;
+import defaultj.core.exception.NoActiveScopeException;
+import lombok.val;
+
+public class ScopedProviderTest {
+    
+    private DefaultProvider provider = new DefaultProvider();
+    
+    public static class User {
+        public final String name;
+        public User(String name) {
+            this.name = name;
+        }
+    }
+    
+    public static class Greeter {
+        public String greet(String name, Locale locale) {
+            return (Locale.FRENCH.equals(locale) ? "Bonjour " : "Hello ") + name;
+        }
+    }
+    
+    public static class RequestHandler {
+        public final String greeting;
+        public RequestHandler(User user, Locale locale, Greeter greeter) {
+            this.greeting = greeter.greet(user.name, locale);
+        }
+    }
+    
+    public static class LazyUser {
+        public final Supplier<User> user;
+        public LazyUser(Supplier<User> user) {
+            this.user = user;
+        }
+    }
+    
+    public static class UserHandle {
+        public final DefaultHandle<User> user;
+        public UserHandle(DefaultProvider provider) {
+            this.user = provider.handleFor(User.class);
+        }
+    }
+    
+    public static class RunInScope {
+        public RunInScope(Runnable runnable) {
+            runnable.run();
+        }
+    }
+    
+    public static class NeedProvider {
+        public final IProvideDefault provider;
+        public NeedProvider(IProvideDefault provider) {
+            this.provider = provider;
+        }
+    }
+    
+    @Test
+    public void testThat_scopeProvidesItsBoundInstancesToTheDependents() {
+        val alice = provider.scope().bind(User.class, new User("Alice")).bind(Locale.class, Locale.ENGLISH).build();
+        val bob   = provider.scope().bind(User.class, new User("Bob"))  .bind(Locale.class, Locale.FRENCH) .build();
+        
+        assertEquals("Hello Alice", alice.get(RequestHandler.class).greeting);
+        assertEquals("Bonjour Bob", bob  .get(RequestHandler.class).greeting);
+        assertEquals("Hello Alice", alice.get(RequestHandler.class).greeting);
+    }
+    
+    @Test
+    public void testThat_scopesOfTheSameShapeShareTheirPlans() {
+        provider.get(Greeter.class);
+        
+        val first  = provider.scope().bind(User.class, new User("Alice")).bind(Locale.class, Locale.ENGLISH).build();
+        val second = provider.scope().bind(User.class, new User("Bob"))  .bind(Locale.class, Locale.FRENCH) .build();
+        assertSame(first.shapeProvider(), second.shapeProvider());
+        
+        first.get(RequestHandler.class);
+        val resolutionCount = first.shapeProvider().resolutionCount();
+        
+        second.get(RequestHandler.class);
+        assertEquals(resolutionCount, second.shapeProvider().resolutionCount());
+        
+        // Greeter does not depend on the scope so its plan is the one of the parent.
+        assertSame(provider.planFor(Greeter.class), first.shapeProvider().planFor(Greeter.class));
+    }
+    
+    @Test
+    public void testThat_providerInTheScopeIsTheScope() {
+        val scope = provider.scope().bind(User.class, new User("Alice")).build();
+        assertSame(scope, scope.get(NeedProvider.class).provider);
+        assertEquals("Alice", scope.get(NeedProvider.class).provider.get(User.class).name);
+    }
+    
+    @Test(expected=NoActiveScopeException.class)
+    public void testThat_scopedClassCannotBeProvidedOutsideTheScope() {
+        val scope = provider.scope().bind(User.class, new User("Alice")).build();
+        scope.shapeProvider().get(User.class);
+    }
+    
+    @Test
+    public void testThat_supplierKeepsTheScopeItWasCreatedIn() {
+        val alice = provider.scope().bind(User.class, new User("Alice")).build();
+        val lazy  = alice.get(LazyUser.class);
+        
+        // Outside of any scope.
+        assertEquals("Alice", lazy.user.get().name);
+        
+        // In another scope of the same shape.
+        val names = new ArrayList<String>();
+        val bob   = provider.scope()
+                .bind(User.class,     new User("Bob"))
+                .bind(Runnable.class, (Runnable)() -> names.add(lazy.user.get().name))
+                .build();
+        bob.get(RunInScope.class);
+        assertEquals(asList("Alice"), names);
+    }
+    
+    @Test
+    public void testThat_handleKeepsTheScopeItWasCreatedIn() {
+        val alice  = provider.scope().bind(User.class, new User("Alice")).build();
+        val handle = alice.get(UserHandle.class).user;
+        assertEquals("Alice", handle.get().name);
+    }
+    
+    @Test
+    public void testThat_manyScopeShapesStillWork() {
+        val classes = asList(Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class, Character.class);
+        for (int mask = 1; mask < (1 << classes.size()); mask++) {
+            val builder = provider.scope().bind(User.class, new User("User" + mask));
+            for (int i = 0; i < classes.size(); i++) {
+                if ((mask & (1 << i)) != 0)
+                    bindNull(builder, classes.get(i));
+            }
+            assertEquals("User" + mask, builder.build().get(LazyUser.class).user.get().name);
+        }
+    }
+    
+    private static <T> void bindNull(ScopedProvider.Builder builder, Class<T> clzz) {
+        builder.bind(clzz, null);
+    }
+    
+}
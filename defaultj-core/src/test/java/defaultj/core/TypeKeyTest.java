@@ -0,0 +1,178 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import defaultj.core.bindings.FactoryBinding;
+import defaultj.core.bindings.TypeBinding;
+import lombok.val;
+
+public class TypeKeyTest {
+    
+    public static class Foo {}
+    public static class Bar {}
+    
+    public static class Holder {
+        public final List<Foo>             foos;
+        public final List<Bar>             bars;
+        public final Supplier<List<Foo>>   fooSupplier;
+        public final Optional<List<Bar>>   optionalBars;
+        public Holder(List<Foo> foos, List<Bar> bars, Supplier<List<Foo>> fooSupplier, Optional<List<Bar>> optionalBars) {
+            this.foos         = foos;
+            this.bars         = bars;
+            this.fooSupplier  = fooSupplier;
+            this.optionalBars = optionalBars;
+        }
+    }
+    
+    public static class FooList extends ArrayList<Foo> {
+        private static final long serialVersionUID = 1L;
+        public FooList(Foo foo) {
+            add(foo);
+        }
+    }
+    
+    public static class Basket {
+        public final Bar       bar;
+        public final List<Foo> foos;
+        public Basket(Bar bar, List<Foo> foos) {
+            this.bar  = bar;
+            this.foos = foos;
+        }
+    }
+    
+    @SuppressWarnings("unused")
+    private List<Foo> fooList;
+    
+    @SuppressWarnings("unused")
+    private Map<String, List<? extends Bar>> barMap;
+    
+    @Test
+    public void testThat_keysAreInterned() throws Exception {
+        val fieldType = TypeKeyTest.class.getDeclaredField("fooList").getGenericType();
+        assertSame   (TypeKey.of(List.class, Foo.class), TypeKey.of(fieldType));
+        assertSame   (TypeKey.of(Foo.class),             TypeKey.of((java.lang.reflect.Type)Foo.class));
+        assertNotSame(TypeKey.of(List.class, Foo.class), TypeKey.of(List.class, Bar.class));
+        assertSame   (TypeKey.of(List.class),            TypeKey.of(List.class, new Class<?>[0]));
+    }
+    
+    @Test
+    public void testThat_nestedTypesAreKeyed() throws Exception {
+        val fieldType = TypeKeyTest.class.getDeclaredField("barMap").getGenericType();
+        val key       = TypeKey.of(fieldType);
+        assertSame  (key, TypeKey.of(Map.class, TypeKey.of(String.class), TypeKey.of(List.class, Bar.class)));
+        assertTrue  (key.isParameterized());
+        assertEquals(Map.class, key.rawClass());
+        assertEquals("java.util.Map<java.lang.String, java.util.List<" + Bar.class.getName() + ">>", key.toString());
+        assertFalse (TypeKey.of(String.class).isParameterized());
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testThat_wrongNumberOfArgumentsIsRejected() {
+        TypeKey.of(Map.class, String.class);
+    }
+    
+    @Test
+    public void testThat_parameterizedTypesAreBoundSeparately() {
+        val foos = asList(new Foo());
+        val bars = asList(new Bar(), new Bar());
+        val provider = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(TypeKey.of(List.class, Foo.class), foos)
+                        .bind(TypeKey.of(List.class, Bar.class), bars));
+        
+        assertSame(foos, provider.get(TypeKey.of(List.class, Foo.class)));
+        assertSame(bars, provider.get(TypeKey.of(List.class, Bar.class)));
+        
+        val holder = provider.get(Holder.class);
+        assertSame(foos, holder.foos);
+        assertSame(bars, holder.bars);
+        assertSame(foos, holder.fooSupplier.get());
+        assertSame(bars, holder.optionalBars.get());
+    }
+    
+    @Test
+    public void testThat_unboundParameterizedTypeUsesTheRawClass() {
+        val provider = new DefaultProvider().withBinding(List.class, emptyList());
+        assertSame(emptyList(), provider.get(TypeKey.of(List.class, Foo.class)));
+        assertSame(emptyList(), provider.get(Holder.class).bars);
+    }
+    
+    @Test
+    public void testThat_asyncResolutionUsesTheParameterizedBinding() {
+        val foos = asList(new Foo());
+        val provider = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(List.class, emptyList())
+                        .bind(TypeKey.of(List.class, Foo.class), foos));
+        assertSame(foos, provider.getAsync(Basket.class).join().foos);
+    }
+    
+    @Test
+    public void testThat_frozenProviderUsesTheParameterizedBinding() {
+        val foos = asList(new Foo());
+        val frozen = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(List.class, emptyList())
+                        .bind(TypeKey.of(List.class, Foo.class), foos))
+                .freeze(Basket.class);
+        assertSame(foos, frozen.get(Basket.class).foos);
+        assertSame(foos, frozen.get(TypeKey.of(List.class, Foo.class)));
+    }
+    
+    @Test
+    public void testThat_frozenProviderFreezesTheTargetOfTheParameterizedBinding() {
+        val frozen = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(TypeKey.of(List.class, Foo.class), new TypeBinding<List<Foo>>(FooList.class)))
+                .freeze(Basket.class);
+        assertTrue(frozen.isFrozen(FooList.class));
+        assertTrue(frozen.isFrozen(Foo.class));
+        assertTrue(frozen.get(Basket.class).foos instanceof FooList);
+    }
+    
+    @Test
+    public void testThat_opaqueParameterizedBindingIsNotFrozen() {
+        val frozen = new DefaultProvider()
+                .withBindings(new Bindings.Builder()
+                        .bind(TypeKey.of(List.class, Foo.class), new FactoryBinding<List<Foo>>(p -> new ArrayList<Foo>())))
+                .freeze(Basket.class);
+        assertFalse(frozen.isFrozen(Basket.class));
+        assertFalse(frozen.canProvide(Basket.class));
+    }
+    
+}
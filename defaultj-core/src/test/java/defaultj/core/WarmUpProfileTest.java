@@ -0,0 +1,103 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import lombok.val;
+
+public class WarmUpProfileTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    public static class Config {}
+    public static class Repository {
+        public Repository(Config config) {}
+    }
+    public static class Service {
+        public Service(Repository repository) {}
+    }
+    
+    @Test
+    public void testThat_resolvedClassesAreRecordedInOrder() {
+        val provider = new DefaultProvider();
+        provider.get(Config.class);
+        
+        provider.startRecording();
+        provider.get(Service.class);
+        
+        assertEquals(asList(Service.class, Repository.class), provider.stopRecording());
+        assertTrue  (provider.recordedClasses().isEmpty());
+    }
+    
+    @Test
+    public void testThat_profileIsReplayedIntoTheNextProvider() throws Exception {
+        val profile = folder.getRoot().toPath().resolve("warm-up.profile");
+        
+        val firstRun = new DefaultProvider();
+        firstRun.startRecording();
+        firstRun.get(Service.class);
+        firstRun.writeProfile(profile);
+        
+        val lines = Files.readAllLines(profile, UTF_8);
+        assertEquals(WarmUpProfile.HEADER, lines.get(0));
+        assertEquals(Service.class.getName(), lines.get(1));
+        
+        Files.write(profile, asList("not.a.ClassAnyMore"), UTF_8, APPEND);
+        
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            val nextRun = new DefaultProvider();
+            val report  = nextRun.replayProfile(profile, executor).join();
+            
+            assertEquals(3, report.classCount());
+            assertEquals(3, nextRun.resolutionCount());
+            assertTrue  (nextRun.planFor(Service.class).isVerified());
+            
+            nextRun.get(Service.class);
+            assertEquals(3, nextRun.resolutionCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testThat_missingProfilePreloadsNothing() {
+        val profile  = folder.getRoot().toPath().resolve("none.profile");
+        val provider = new DefaultProvider();
+        val report   = provider.replayProfile(profile, Runnable::run).join();
+        assertEquals(0, report.classCount());
+    }
+    
+}
@@ -0,0 +1,115 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.benchmark;
+
+import static defaultj.core.utils.ConstructorUtils.invokerOf;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import defaultj.core.DefaultProvider;
+import defaultj.core.utils.failable.Failable.Function;
+
+/**
+ * Compare the reflective constructor call with the compiled constructor invoker.
+ * 
+ * Run with the main method from the test classpath (not run as part of the unit tests).
+ * 
+ * @author NawaMan -- nawa@nawaman.net
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructorInvocationBenchmark {
+    
+    public static class Engine {
+    }
+    
+    public static class Car {
+        private final Engine engine;
+        private final String name;
+        public Car(Engine engine, String name) {
+            this.engine = engine;
+            this.name   = name;
+        }
+        public Engine engine() {
+            return engine;
+        }
+        public String name() {
+            return name;
+        }
+    }
+    
+    private Constructor<Car>                                      constructor;
+    private Function<Object[], Car, ReflectiveOperationException> invoker;
+    private Object[]                                              params;
+    private DefaultProvider                                       provider;
+    
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        constructor = Car.class.getConstructor(Engine.class, String.class);
+        invoker     = invokerOf(constructor);
+        params      = new Object[] { new Engine(), "Zoom" };
+        provider    = new DefaultProvider();
+        provider.get(Car.class);
+    }
+    
+    @Benchmark
+    public Car reflectiveNewInstance() throws ReflectiveOperationException {
+        return constructor.newInstance(params);
+    }
+    
+    @Benchmark
+    public Car compiledInvoker() throws ReflectiveOperationException {
+        return invoker.apply(params);
+    }
+    
+    @Benchmark
+    public Car providerGet() {
+        return provider.get(Car.class);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConstructorInvocationBenchmark.class.getSimpleName())
+                .build())
+        .run();
+    }
+    
+}
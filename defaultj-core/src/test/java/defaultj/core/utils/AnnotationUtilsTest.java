@@ -0,0 +1,89 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.utils;
+
+import static defaultj.core.utils.AnnotationUtils.annotationIndexOf;
+import static defaultj.core.utils.AnnotationUtils.has;
+import static defaultj.core.utils.AnnotationUtils.hasAllOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class AnnotationUtilsTest {
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface Default {}
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface MyDefault {}
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface Nullable {}
+    
+    @Default
+    @defaultj.annotations.DefaultToNull
+    public static class Annotated {
+        @MyDefault
+        public static final String field = "field";
+        
+        @Default
+        public void method(@Nullable String param) {}
+    }
+    
+    @Test
+    public void testMatchBySimpleNameFromAnyPackage() throws Exception {
+        assertTrue (has(Annotated.class, "Default"));
+        assertTrue (has(Annotated.class, "DefaultToNull"));
+        assertFalse(has(Annotated.class, "MyDefault"));
+        assertTrue (hasAllOf(Annotated.class, "Default", "DefaultToNull"));
+        assertFalse(hasAllOf(Annotated.class, "Default", "MyDefault"));
+        
+        val field = Annotated.class.getField("field");
+        assertTrue (has(field, "MyDefault"));
+        assertFalse(has(field, "Default"));
+        
+        val method = Annotated.class.getMethod("method", String.class);
+        assertTrue(has(method, "Default"));
+        assertTrue(has(method.getParameters()[0], "Nullable"));
+        
+        assertTrue (has(Annotated.class.getAnnotations(), "DefaultToNull", "Other"));
+        assertFalse(has(field.getAnnotations(), "Default"));
+    }
+    
+    @Test
+    public void testIndexIsCached() throws Exception {
+        assertSame(annotationIndexOf(Annotated.class), annotationIndexOf(Annotated.class));
+        
+        // Each call to getMethod returns a new copy of the method.
+        val method1 = Annotated.class.getMethod("method", String.class);
+        val method2 = Annotated.class.getMethod("method", String.class);
+        assertSame(annotationIndexOf(method1), annotationIndexOf(method2));
+    }
+    
+}
@@ -0,0 +1,92 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.utils;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+import defaultj.annotations.PostConstruct;
+import lombok.val;
+
+public class ConstructorUtilsTest {
+    
+    static final Error            error     = new StackOverflowError();
+    static final RuntimeException exception = new IllegalStateException();
+    
+    public static class ErrorCar {
+        public ErrorCar() {
+            throw error;
+        }
+    }
+    
+    public static class BrokenCar {
+        public BrokenCar() {
+            throw exception;
+        }
+    }
+    
+    public static class ErrorStartCar {
+        @PostConstruct
+        public void start() {
+            throw error;
+        }
+    }
+    
+    @Test
+    public void testThat_errorsFromConstructorAreNotWrapped() throws Exception {
+        val invoker = ConstructorUtils.invokerOf(ErrorCar.class.getConstructor());
+        try {
+            invoker.apply(new Object[0]);
+            fail();
+        } catch (StackOverflowError e) {
+            assertSame(error, e);
+        }
+    }
+    
+    @Test
+    public void testThat_exceptionsFromConstructorAreWrapped() throws Exception {
+        val invoker = ConstructorUtils.invokerOf(BrokenCar.class.getConstructor());
+        try {
+            invoker.apply(new Object[0]);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertSame(exception, e.getCause());
+        }
+    }
+    
+    @Test
+    public void testThat_errorsFromPostConstructAreNotWrapped() throws Exception {
+        try {
+            PostConstructUtils.callPostConstruct(new ErrorStartCar());
+            fail();
+        } catch (StackOverflowError e) {
+            assertSame(error, e);
+        } catch (InvocationTargetException e) {
+            fail("Error was wrapped: " + e);
+        }
+    }
+    
+}
@@ -0,0 +1,78 @@
+//  MIT License
+//  
+//  Copyright (c) 2017-2023 Nawa Manusitthipol
+//  
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files (the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions:
+//  
+//  The above copyright notice and this permission notice shall be included in all
+//  copies or substantial portions of the Software.
+//  
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//  SOFTWARE.
+package defaultj.core.utils;
+
+import static defaultj.core.utils.MethodSupplierFinderUtils.injectionPlanOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import defaultj.annotations.Nullable;
+import defaultj.core.utils.InjectionPlan.Kind;
+import lombok.val;
+
+public class InjectionPlanTest {
+    
+    public static class Car {}
+    
+    public static class Garage {
+        public Garage(
+                Car                                     plain,
+                @Nullable Car                           nullable,
+                Supplier<Car>                           supplier,
+                defaultj.core.utils.failable.Failable.Supplier<Car, RuntimeException> failableSupplier,
+                Optional<Car>                           optional,
+                @Nullable Optional<Car>                 nullableOptional) {
+        }
+    }
+    
+    @Test
+    public void testSlotsAreClassifiedOnce() throws Exception {
+        val constructor = Garage.class.getConstructors()[0];
+        val plan        = injectionPlanOf(constructor);
+        
+        assertSame(plan, injectionPlanOf(Garage.class.getConstructors()[0]));
+        assertEquals(6, plan.parameterCount());
+        
+        val slots = plan.slots();
+        assertEquals(Kind.PLAIN,               slots.get(0).kind());
+        assertEquals(Kind.NULLABLE_ON_FAILURE, slots.get(1).kind());
+        assertEquals(Kind.SUPPLIER,            slots.get(2).kind());
+        assertEquals(Kind.FAILABLE_SUPPLIER,   slots.get(3).kind());
+        assertEquals(Kind.OPTIONAL,            slots.get(4).kind());
+        assertEquals(Kind.OPTIONAL,            slots.get(5).kind());
+        
+        assertFalse(slots.get(4).nullOnFailure());
+        assertTrue (slots.get(5).nullOnFailure());
+        
+        for (val slot : slots) {
+            assertEquals(Car.class, slot.type());
+        }
+    }
+    
+}